@@ -0,0 +1,84 @@
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+@SupportedAnnotationTypes(InjectionFactory.INJECT)
+public class ComponentIndexProcessor extends AbstractProcessor {
+	static final String INDEX = "META-INF/components.index";
+	static final String SCOPE = "jakarta.inject.Scope";
+
+	private final Map<String, String> components = new TreeMap<>();
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+		for (TypeElement annotation : annotations)
+			for (Element element : round.getElementsAnnotatedWith(annotation))
+				if (element.getEnclosingElement() instanceof TypeElement component && indexable(component))
+					entry(component).ifPresent(entry -> components.put(binaryName(component), entry));
+		if (round.processingOver() && !components.isEmpty()) write();
+		return false;
+	}
+
+	private Optional<String> entry(TypeElement component) {
+		List<String> scopes = component.getAnnotationMirrors().stream().map(a -> (TypeElement) a.getAnnotationType().asElement())
+			.filter(a -> a.getAnnotationMirrors().stream().anyMatch(m -> qualifiedName(m.getAnnotationType()).equals(SCOPE)))
+			.map(this::binaryName).toList();
+		if (scopes.size() > 1) return Optional.empty();
+		Set<String> types = new LinkedHashSet<>();
+		interfaces(component.asType(), types);
+		if (types.isEmpty()) types.add(binaryName(component));
+		StringJoiner entry = new StringJoiner("\t");
+		entry.add(binaryName(component)).add(scopes.isEmpty() ? "" : scopes.get(0));
+		types.forEach(entry::add);
+		return Optional.of(entry.toString());
+	}
+
+	private void interfaces(TypeMirror type, Set<String> interfaces) {
+		for (TypeMirror supertype : processingEnv.getTypeUtils().directSupertypes(type)) {
+			TypeElement element = (TypeElement) ((DeclaredType) supertype).asElement();
+			if (element.getKind() == ElementKind.INTERFACE && !platform(element)) interfaces.add(binaryName(element));
+			interfaces(supertype, interfaces);
+		}
+	}
+
+	private void write() {
+		try (Writer writer = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX).openWriter()) {
+			for (String entry : components.values()) writer.write(entry + "\n");
+		} catch (IOException e) {
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, e.getMessage());
+		}
+	}
+
+	private String binaryName(TypeElement type) {
+		return processingEnv.getElementUtils().getBinaryName(type).toString();
+	}
+
+	private static String qualifiedName(DeclaredType type) {
+		return ((TypeElement) type.asElement()).getQualifiedName().toString();
+	}
+
+	private static boolean platform(TypeElement type) {
+		String name = type.getQualifiedName().toString();
+		return name.startsWith("java.") || name.startsWith("javax.");
+	}
+
+	private static boolean indexable(TypeElement component) {
+		if (component.getKind() != ElementKind.CLASS || component.getModifiers().contains(Modifier.ABSTRACT)) return false;
+		if (component.getNestingKind() == NestingKind.LOCAL || component.getNestingKind() == NestingKind.ANONYMOUS) return false;
+		return component.getNestingKind() != NestingKind.MEMBER || component.getModifiers().contains(Modifier.STATIC);
+	}
+}
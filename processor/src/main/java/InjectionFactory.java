@@ -0,0 +1,210 @@
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import java.util.*;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+class InjectionFactory {
+	static final String INJECT = "jakarta.inject.Inject";
+	static final String PROVIDER = "jakarta.inject.Provider";
+	static final String QUALIFIER = "jakarta.inject.Qualifier";
+
+	private final TypeElement component;
+	private final ExecutableElement constructor;
+	private final List<VariableElement> fields;
+	private final List<ExecutableElement> methods;
+	private final Types types;
+	private final Elements elements;
+
+	private InjectionFactory(TypeElement component, ExecutableElement constructor, List<VariableElement> fields, List<ExecutableElement> methods, ProcessingEnvironment environment) {
+		this.component = component;
+		this.constructor = constructor;
+		this.fields = fields;
+		this.methods = methods;
+		this.types = environment.getTypeUtils();
+		this.elements = environment.getElementUtils();
+	}
+
+	static Optional<InjectionFactory> of(TypeElement component, ProcessingEnvironment environment) {
+		Elements elements = environment.getElementUtils();
+		Types types = environment.getTypeUtils();
+		if (component.getKind() != ElementKind.CLASS || component.getModifiers().contains(Modifier.ABSTRACT)) return Optional.empty();
+		if (!component.getTypeParameters().isEmpty() || !elements.getPackageOf(component).isUnnamed() || !accessible(component))
+			return Optional.empty();
+
+		List<ExecutableElement> constructors = ElementFilter.constructorsIn(component.getEnclosedElements());
+		List<ExecutableElement> injectConstructors = constructors.stream().filter(c -> c.getModifiers().contains(Modifier.PUBLIC) && isInject(c)).toList();
+		if (injectConstructors.size() > 1) return Optional.empty();
+		Optional<ExecutableElement> constructor = injectConstructors.isEmpty()
+			? constructors.stream().filter(c -> c.getParameters().isEmpty()).findFirst()
+			: Optional.of(injectConstructors.get(0));
+		if (constructor.isEmpty() || constructor.get().getModifiers().contains(Modifier.PRIVATE)) return Optional.empty();
+
+		List<VariableElement> fields = new ArrayList<>();
+		List<ExecutableElement> methods = new ArrayList<>();
+		Set<String> overridden = new HashSet<>();
+		for (TypeElement current = component; current != null; current = superclass(current)) {
+			for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements()))
+				if (isInject(field)) fields.add(field);
+			for (ExecutableElement method : ElementFilter.methodsIn(current.getEnclosedElements()))
+				if (overridden.add(signature(method, types)) && isInject(method)) methods.add(method);
+		}
+		Collections.reverse(methods);
+		if (fields.stream().anyMatch(f -> !injectable(f) || f.getModifiers().contains(Modifier.FINAL) || !accessible((TypeElement) f.getEnclosingElement())))
+			return Optional.empty();
+		if (methods.stream().anyMatch(m -> !injectable(m) || !m.getTypeParameters().isEmpty())) return Optional.empty();
+		if (Stream.concat(Stream.of(constructor.get()), methods.stream()).anyMatch(e -> throwsChecked(e, elements, types))) return Optional.empty();
+		if (Stream.concat(fields.stream(), Stream.concat(Stream.of(constructor.get()), methods.stream()).flatMap(e -> e.getParameters().stream()))
+			.anyMatch(InjectionFactory::isQualified)) return Optional.empty();
+		InjectionFactory factory = new InjectionFactory(component, constructor.get(), fields, methods, environment);
+		if (factory.points().stream().anyMatch(p -> isProvider(p) && (providedType(p) == p || providedType(p).getKind() != TypeKind.DECLARED))) return Optional.empty();
+		if (factory.points().stream().map(p -> isProvider(p) ? providedType(p) : p)
+			.anyMatch(p -> p.getKind() == TypeKind.DECLARED && !((DeclaredType) p).getTypeArguments().isEmpty())) return Optional.empty();
+		return Optional.of(factory);
+	}
+
+	TypeElement component() {
+		return component;
+	}
+
+	String name() {
+		return elements.getBinaryName(component) + "_Factory";
+	}
+
+	List<TypeMirror> dependencies() {
+		return points().stream().map(p -> isProvider(p) ? providedType(p) : p).map(types::erasure).toList();
+	}
+
+	private List<TypeMirror> points() {
+		return Stream.of(fields.stream().map(Element::asType),
+				constructor.getParameters().stream().map(Element::asType),
+				methods.stream().flatMap(m -> m.getParameters().stream().map(Element::asType)))
+			.flatMap(s -> s).toList();
+	}
+
+	String source() {
+		String type = component.getQualifiedName().toString();
+		List<String> dependencies = dependencies().stream().map(TypeMirror::toString).toList();
+		List<Boolean> providers = points().stream().map(InjectionFactory::isProvider).toList();
+		StringBuilder source = new StringBuilder();
+		source.append("import java.util.List;\nimport java.util.concurrent.CompletableFuture;\nimport java.util.concurrent.Executor;\n\n");
+		source.append("final class ").append(name()).append(" implements ComponentProvider<").append(type).append("> {\n");
+		source.append("\tprivate static final List<Class<?>> DEPENDENCIES = List.of(")
+			.append(dependencies.stream().map(d -> d + ".class").collect(Collectors.joining(", "))).append(");\n");
+		source.append("\tprivate static final List<Key<?>> KEYS = List.of(")
+			.append(dependencies.stream().map(d -> "Key.of(" + d + ".class)").collect(Collectors.joining(", "))).append(");\n\n");
+		source.append("\t@Override\n\tpublic ").append(type).append(" get(Context context) {\n");
+		inject(source, type, lazy(providers, i -> "context.get(" + dependencies.get(i) + ".class).get()"), false);
+		source.append("\t}\n\n");
+		source.append("\t@Override\n\tpublic ").append(type).append(" get(CompiledContext context, int[] dependencies) {\n");
+		inject(source, type, lazy(providers, i -> "(" + dependencies.get(i) + ") context.get(dependencies[" + i + "])"), false);
+		source.append("\t}\n\n");
+		source.append("\t@Override\n\tpublic ").append(type).append(" get(CompiledContext context, int[] dependencies, ResolutionMetrics metrics) {\n");
+		source.append("\t\tlong start = System.nanoTime();\n");
+		inject(source, type, lazy(providers, i -> "(" + dependencies.get(i) + ") context.get(dependencies[" + i + "])"), true);
+		source.append("\t}\n\n");
+		source.append("\t@Override\n\tpublic CompletableFuture<").append(type).append("> getAsync(CompiledContext context, int[] dependencies, Executor executor) {\n");
+		source.append("\t\tCompletableFuture<?>[] resolving = ").append(IntStream.range(0, providers.size())
+			.mapToObj(i -> providers.get(i) ? "CompletableFuture.completedFuture(null)" : "context.getAsync(dependencies[" + i + "], executor)")
+			.collect(Collectors.joining(", ", "{", "}"))).append(";\n");
+		source.append("\t\treturn CompletableFuture.allOf(resolving).thenApplyAsync(ignored -> build(context, dependencies, resolving), executor);\n");
+		source.append("\t}\n\n");
+		source.append("\tprivate ").append(type).append(" build(CompiledContext context, int[] dependencies, CompletableFuture<?>[] resolving) {\n");
+		inject(source, type, lazy(providers, i -> "(" + dependencies.get(i) + ") "
+			+ (providers.get(i) ? "context.get(dependencies[" + i + "])" : "resolving[" + i + "].join()")), false);
+		source.append("\t}\n\n");
+		source.append("\t@Override\n\tpublic List<Class<?>> getDependency() {\n\t\treturn DEPENDENCIES;\n\t}\n\n");
+		source.append("\t@Override\n\tpublic List<Key<?>> getDependencyKeys() {\n\t\treturn KEYS;\n\t}\n}\n");
+		return source.toString();
+	}
+
+	private void inject(StringBuilder source, String type, IntFunction<String> dependency, boolean timed) {
+		int offset = fields.size();
+		source.append("\t\t").append(type).append(" instance = new ").append(type)
+			.append(arguments(offset, constructor.getParameters().size(), dependency)).append(";\n");
+		if (timed) source.append("\t\tlong constructed = System.nanoTime();\n");
+		offset += constructor.getParameters().size();
+		for (int i = 0; i < fields.size(); i++)
+			source.append("\t\t").append(target(fields.get(i))).append('.').append(fields.get(i).getSimpleName()).append(" = ").append(dependency.apply(i)).append(";\n");
+		if (timed) source.append("\t\tlong fieldsInjected = System.nanoTime();\n");
+		for (ExecutableElement method : methods) {
+			source.append("\t\tinstance.").append(method.getSimpleName())
+				.append(arguments(offset, method.getParameters().size(), dependency)).append(";\n");
+			offset += method.getParameters().size();
+		}
+		if (timed)
+			source.append("\t\tmetrics.phases(constructed - start, fieldsInjected - constructed, System.nanoTime() - fieldsInjected);\n");
+		source.append("\t\treturn instance;\n");
+	}
+
+	private String target(VariableElement field) {
+		TypeElement declaring = (TypeElement) field.getEnclosingElement();
+		return declaring.equals(component) ? "instance" : "((" + declaring.getQualifiedName() + ") instance)";
+	}
+
+	private static IntFunction<String> lazy(List<Boolean> providers, IntFunction<String> dependency) {
+		return i -> providers.get(i) ? "(" + PROVIDER + ") () -> " + dependency.apply(i) : dependency.apply(i);
+	}
+
+	private static String arguments(int offset, int count, IntFunction<String> dependency) {
+		return IntStream.range(offset, offset + count).mapToObj(dependency).collect(Collectors.joining(", ", "(", ")"));
+	}
+
+	private static boolean isInject(Element element) {
+		return element.getAnnotationMirrors().stream()
+			.anyMatch(a -> ((TypeElement) a.getAnnotationType().asElement()).getQualifiedName().contentEquals(INJECT));
+	}
+
+	private static boolean isQualified(Element element) {
+		return element.getAnnotationMirrors().stream().map(a -> a.getAnnotationType().asElement())
+			.anyMatch(a -> a.getAnnotationMirrors().stream().anyMatch(m -> ((TypeElement) m.getAnnotationType().asElement()).getQualifiedName().contentEquals(QUALIFIER)));
+	}
+
+	private static boolean isProvider(TypeMirror type) {
+		return type.getKind() == TypeKind.DECLARED
+			&& ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().contentEquals(PROVIDER);
+	}
+
+	private static TypeMirror providedType(TypeMirror provider) {
+		List<? extends TypeMirror> arguments = ((DeclaredType) provider).getTypeArguments();
+		return arguments.isEmpty() ? provider : arguments.get(0);
+	}
+
+	private static boolean injectable(Element member) {
+		Set<Modifier> modifiers = member.getModifiers();
+		return !modifiers.contains(Modifier.PRIVATE) && !modifiers.contains(Modifier.STATIC);
+	}
+
+	private static boolean accessible(TypeElement component) {
+		if (component.getNestingKind() == NestingKind.LOCAL || component.getNestingKind() == NestingKind.ANONYMOUS) return false;
+		if (component.getNestingKind() == NestingKind.MEMBER && !component.getModifiers().contains(Modifier.STATIC)) return false;
+		for (Element current = component; current instanceof TypeElement; current = current.getEnclosingElement())
+			if (current.getModifiers().contains(Modifier.PRIVATE)) return false;
+		return true;
+	}
+
+	private static boolean throwsChecked(ExecutableElement executable, Elements elements, Types types) {
+		TypeMirror runtime = elements.getTypeElement("java.lang.RuntimeException").asType();
+		TypeMirror error = elements.getTypeElement("java.lang.Error").asType();
+		return executable.getThrownTypes().stream().anyMatch(t -> !types.isSubtype(t, runtime) && !types.isSubtype(t, error));
+	}
+
+	private static TypeElement superclass(TypeElement type) {
+		TypeMirror superclass = type.getSuperclass();
+		if (superclass.getKind() != TypeKind.DECLARED) return null;
+		TypeElement element = (TypeElement) ((DeclaredType) superclass).asElement();
+		return element.getQualifiedName().contentEquals("java.lang.Object") ? null : element;
+	}
+
+	private static String signature(ExecutableElement method, Types types) {
+		return method.getSimpleName() + method.getParameters().stream().map(p -> types.erasure(p.asType()).toString()).collect(Collectors.joining(",", "(", ")"));
+	}
+}
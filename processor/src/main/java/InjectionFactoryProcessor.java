@@ -0,0 +1,38 @@
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+@SupportedAnnotationTypes(InjectionFactory.INJECT)
+public class InjectionFactoryProcessor extends AbstractProcessor {
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+		Set<TypeElement> components = new LinkedHashSet<>();
+		for (TypeElement annotation : annotations)
+			for (Element element : round.getElementsAnnotatedWith(annotation))
+				if (element.getEnclosingElement() instanceof TypeElement component) components.add(component);
+		for (TypeElement component : components)
+			InjectionFactory.of(component, processingEnv).ifPresent(this::write);
+		return false;
+	}
+
+	private void write(InjectionFactory factory) {
+		try (Writer writer = processingEnv.getFiler().createSourceFile(factory.name(), factory.component()).openWriter()) {
+			writer.write(factory.source());
+		} catch (IOException e) {
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, e.getMessage(), factory.component());
+		}
+	}
+}
@@ -0,0 +1,64 @@
+import benchmark.AsyncBenchmark;
+import jakarta.inject.Inject;
+
+public class AsyncWorkload implements AsyncBenchmark.Workload {
+	static class Resource {
+		public Resource() throws InterruptedException {
+			Thread.sleep(1);
+		}
+	}
+
+	static class Configuration extends Resource {
+		public Configuration() throws InterruptedException {
+		}
+	}
+
+	static class Connections extends Resource {
+		public Connections() throws InterruptedException {
+		}
+	}
+
+	static class Templates extends Resource {
+		public Templates() throws InterruptedException {
+		}
+	}
+
+	static class Certificates extends Resource {
+		public Certificates() throws InterruptedException {
+		}
+	}
+
+	static class Service {
+		@Inject
+		Templates templates;
+		@Inject
+		Certificates certificates;
+
+		@Inject
+		public Service(Configuration configuration, Connections connections) {
+		}
+	}
+
+	private final Context context;
+
+	public AsyncWorkload() {
+		Contextconfig config = new Contextconfig();
+		for (Class<?> type : new Class<?>[]{Configuration.class, Connections.class, Templates.class, Certificates.class, Service.class})
+			bind(config, type);
+		context = config.getContext();
+	}
+
+	private static <T> void bind(Contextconfig config, Class<T> type) {
+		config.bind(type, type);
+	}
+
+	@Override
+	public Object get() {
+		return context.getOrNull(Service.class);
+	}
+
+	@Override
+	public Object getAsync() throws Exception {
+		return context.getAsync(Service.class).get();
+	}
+}
@@ -0,0 +1,85 @@
+import benchmark.BatchBenchmark;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+public class BatchWorkload implements BatchBenchmark.Workload {
+	@Singleton
+	static class Configuration {
+	}
+
+	@CacheScoped
+	static class Catalog {
+	}
+
+	@RequestScoped
+	static class Session {
+		@Inject
+		public Session(Configuration configuration) {
+		}
+	}
+
+	static class Handler {
+		@Inject
+		Configuration configuration;
+		@Inject
+		Catalog catalog;
+		@Inject
+		Session session;
+	}
+
+	static class ListHandler extends Handler {
+	}
+
+	static class ShowHandler extends Handler {
+	}
+
+	static class CreateHandler extends Handler {
+	}
+
+	static class UpdateHandler extends Handler {
+	}
+
+	static class DeleteHandler extends Handler {
+	}
+
+	static class SearchHandler extends Handler {
+	}
+
+	static class ExportHandler extends Handler {
+	}
+
+	static class ImportHandler extends Handler {
+	}
+
+	private static final Class<?>[] HANDLERS = {ListHandler.class, ShowHandler.class, CreateHandler.class, UpdateHandler.class,
+		DeleteHandler.class, SearchHandler.class, ExportHandler.class, ImportHandler.class};
+
+	private final Context application;
+	private final Contextconfig request = new Contextconfig();
+
+	public BatchWorkload() {
+		Contextconfig config = new Contextconfig();
+		config.bind(Configuration.class, Configuration.class);
+		config.bind(Catalog.class, Catalog.class);
+		application = config.getContext();
+		request.bind(Session.class, Session.class);
+		for (Class<?> handler : HANDLERS) bind(request, handler);
+	}
+
+	private static <T> void bind(Contextconfig config, Class<T> type) {
+		config.bind(type, type);
+	}
+
+	@Override
+	public Object separateGets() {
+		Context context = request.getContext(application);
+		Object last = null;
+		for (Class<?> handler : HANDLERS) last = context.getOrNull(handler);
+		return last;
+	}
+
+	@Override
+	public Object batchGet() {
+		return request.getContext(application).getAll(HANDLERS);
+	}
+}
@@ -0,0 +1,36 @@
+import benchmark.CacheBenchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class CacheWorkload implements CacheBenchmark.Workload {
+	static class LookupTable {
+		final Map<Integer, String> entries = new HashMap<>();
+
+		public LookupTable() {
+			for (int i = 0; i < 10_000; i++) entries.put(i, Integer.toString(i));
+		}
+	}
+
+	static class CachedLookupTable extends LookupTable {
+	}
+
+	private final Context context;
+
+	public CacheWorkload() {
+		Contextconfig config = new Contextconfig();
+		config.bind(LookupTable.class, LookupTable.class);
+		config.bind(CachedLookupTable.class, CachedLookupTable.class, CacheScoped.class);
+		context = config.getContext();
+	}
+
+	@Override
+	public Object transientGet() {
+		return context.getOrNull(LookupTable.class).entries.get(42);
+	}
+
+	@Override
+	public Object cachedGet() {
+		return context.getOrNull(CachedLookupTable.class).entries.get(42);
+	}
+}
@@ -0,0 +1,37 @@
+import benchmark.ChildContextBenchmark;
+import jakarta.inject.Inject;
+
+public class ChildContextWorkload implements ChildContextBenchmark.Workload {
+	static class Request {
+	}
+
+	@RequestScoped
+	static class RequestHandler {
+		@Inject
+		public RequestHandler(Request request) {
+		}
+	}
+
+	private final Context parent;
+
+	public ChildContextWorkload(int parentSize) {
+		Contextconfig config = new Contextconfig();
+		ComponentGraph.generate("wide", parentSize).bind(config);
+		parent = config.getContext();
+	}
+
+	@Override
+	public Object createChild() {
+		Contextconfig request = new Contextconfig();
+		request.bind(Request.class, new Request());
+		return request.getContext(parent);
+	}
+
+	@Override
+	public Object createChildAndResolve() {
+		Contextconfig request = new Contextconfig();
+		request.bind(Request.class, new Request());
+		request.bind(RequestHandler.class, RequestHandler.class);
+		return request.getContext(parent).getOrNull(RequestHandler.class);
+	}
+}
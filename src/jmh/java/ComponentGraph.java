@@ -0,0 +1,184 @@
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.objectweb.asm.Opcodes.*;
+
+class ComponentGraph {
+	private static final AtomicInteger graphs = new AtomicInteger();
+	private static final int LAYER_WIDTH = 4;
+	private static final int FAN_OUT = 200;
+
+	final List<Class<?>> types = new ArrayList<>();
+	final List<Class<?>> implementations = new ArrayList<>();
+	final GraphLoader loader;
+
+	static ComponentGraph generate(String shape, int size) {
+		List<List<Integer>> dependencies = new ArrayList<>();
+		for (int i = 0; i < size; i++) dependencies.add(switch (shape) {
+			case "chain" -> i + 1 < size ? List.of(i + 1) : List.of();
+			case "wide" -> range(Math.min(i * FAN_OUT + 1, size), Math.min(i * FAN_OUT + FAN_OUT + 1, size));
+			case "diamond" -> i + LAYER_WIDTH < size ? diamond(i, size) : List.of();
+			default -> throw new IllegalArgumentException(shape);
+		});
+		return new ComponentGraph("Generated" + graphs.incrementAndGet() + "_", dependencies);
+	}
+
+	static Class<?> hierarchy(int depth, int methods) {
+		String prefix = "GeneratedHierarchy" + graphs.incrementAndGet() + "_";
+		String superName = "java/lang/Object";
+		Class<?> leaf = null;
+		for (int level = 0; level < depth; level++) {
+			ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+			writer.visit(V17, ACC_PUBLIC | ACC_SUPER, prefix + level, null, superName, null);
+			injectConstructor(writer, superName, "()V");
+			for (int method = 0; method < methods; method++) {
+				MethodVisitor visitor = writer.visitMethod(ACC_PUBLIC, "install" + method, "()V", null, null);
+				if ((method + level) % 2 == 0) visitor.visitAnnotation("Ljakarta/inject/Inject;", true).visitEnd();
+				visitor.visitCode();
+				visitor.visitInsn(RETURN);
+				visitor.visitMaxs(0, 0);
+				visitor.visitEnd();
+			}
+			writer.visitEnd();
+			leaf = define(writer.toByteArray());
+			superName = prefix + level;
+		}
+		return leaf;
+	}
+
+	Class<?> root() {
+		return types.get(0);
+	}
+
+	void bind(Contextconfig config) {
+		for (int i = 0; i < types.size(); i++) bind(config, types.get(i), implementations.get(i));
+	}
+
+	void bind(Contextconfig config, Class<? extends Annotation> scope) {
+		for (int i = 0; i < types.size(); i++) bind(config, types.get(i), implementations.get(i), scope);
+	}
+
+	void bindLeaf(Contextconfig config) {
+		bind(config, types.get(types.size() - 1), implementations.get(implementations.size() - 1));
+	}
+
+	private static <T> void bind(Contextconfig config, Class<T> type, Class<?> implementation) {
+		config.bind(type, (Class<? extends T>) implementation);
+	}
+
+	private static <T> void bind(Contextconfig config, Class<T> type, Class<?> implementation, Class<? extends Annotation> scope) {
+		config.bind(type, (Class<? extends T>) implementation, scope);
+	}
+
+	byte[] index() {
+		StringBuilder index = new StringBuilder();
+		for (int i = 0; i < types.size(); i++)
+			index.append(implementations.get(i).getName()).append("\t\t").append(types.get(i).getName()).append('\n');
+		return index.toString().getBytes(UTF_8);
+	}
+
+	ComponentGraph reload() {
+		return new ComponentGraph(this);
+	}
+
+	private ComponentGraph(ComponentGraph graph) {
+		loader = new GraphLoader(graph.loader.classes);
+		for (Class<?> type : graph.types) types.add(loader.load(type.getName()));
+		for (Class<?> implementation : graph.implementations) implementations.add(loader.load(implementation.getName()));
+	}
+
+	private ComponentGraph(String prefix, List<List<Integer>> dependencies) {
+		loader = new GraphLoader(new HashMap<>());
+		for (int i = 0; i < dependencies.size(); i++) {
+			ClassWriter writer = new ClassWriter(0);
+			writer.visit(V17, ACC_PUBLIC | ACC_ABSTRACT | ACC_INTERFACE, prefix + "Component" + i, null, "java/lang/Object", null);
+			writer.visitEnd();
+			types.add(loader.define(prefix + "Component" + i, writer.toByteArray()));
+		}
+		for (int i = 0; i < dependencies.size(); i++) {
+			ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+			writer.visit(V17, ACC_PUBLIC | ACC_SUPER, prefix + "Implementation" + i, null, "java/lang/Object", new String[]{prefix + "Component" + i});
+			String descriptor = dependencies.get(i).stream().map(d -> "L" + prefix + "Component" + d + ";").collect(Collectors.joining("", "(", ")V"));
+			injectConstructor(writer, "java/lang/Object", descriptor);
+			writer.visitEnd();
+			implementations.add(loader.define(prefix + "Implementation" + i, writer.toByteArray()));
+		}
+	}
+
+	private static void injectConstructor(ClassWriter writer, String superName, String descriptor) {
+		MethodVisitor visitor = writer.visitMethod(ACC_PUBLIC, "<init>", descriptor, null, null);
+		visitor.visitAnnotation("Ljakarta/inject/Inject;", true).visitEnd();
+		visitor.visitCode();
+		visitor.visitVarInsn(ALOAD, 0);
+		visitor.visitMethodInsn(INVOKESPECIAL, superName, "<init>", "()V", false);
+		visitor.visitInsn(RETURN);
+		visitor.visitMaxs(0, 0);
+		visitor.visitEnd();
+	}
+
+	private static List<Integer> diamond(int node, int size) {
+		int next = node - node % LAYER_WIDTH + LAYER_WIDTH;
+		return List.of(next + node % LAYER_WIDTH, Math.min(next + (node + 1) % LAYER_WIDTH, size - 1));
+	}
+
+	private static List<Integer> range(int from, int to) {
+		List<Integer> range = new ArrayList<>();
+		for (int i = from; i < to; i++) range.add(i);
+		return range;
+	}
+
+	private static Class<?> define(byte[] bytes) {
+		try {
+			return MethodHandles.lookup().defineClass(bytes);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	static class GraphLoader extends ClassLoader {
+		private final Map<String, byte[]> classes;
+
+		GraphLoader(Map<String, byte[]> classes) {
+			super(ComponentGraph.class.getClassLoader());
+			this.classes = classes;
+		}
+
+		Class<?> define(String name, byte[] bytes) {
+			classes.put(name + ".class", bytes);
+			return load(name);
+		}
+
+		Class<?> load(String name) {
+			try {
+				return loadClass(name);
+			} catch (ClassNotFoundException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		@Override
+		protected Class<?> findClass(String name) throws ClassNotFoundException {
+			byte[] bytes = classes.get(name + ".class");
+			if (bytes == null) throw new ClassNotFoundException(name);
+			return defineClass(name, bytes, 0, bytes.length);
+		}
+
+		@Override
+		public InputStream getResourceAsStream(String name) {
+			byte[] bytes = classes.get(name);
+			return bytes != null ? new ByteArrayInputStream(bytes) : super.getResourceAsStream(name);
+		}
+	}
+}
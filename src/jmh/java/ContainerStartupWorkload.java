@@ -0,0 +1,28 @@
+import benchmark.ContainerStartupBenchmark;
+
+public class ContainerStartupWorkload implements ContainerStartupBenchmark.Workload {
+	private final ComponentGraph graph;
+
+	public ContainerStartupWorkload(String shape, int size) {
+		graph = ComponentGraph.generate(shape, size);
+	}
+
+	@Override
+	public Object bindAndValidate() {
+		Contextconfig config = new Contextconfig();
+		graph.bind(config);
+		return config.getContext();
+	}
+
+	@Override
+	public Object bind() {
+		Contextconfig config = new Contextconfig();
+		graph.bind(config);
+		return config;
+	}
+
+	@Override
+	public Object validate(Object bound) {
+		return ((Contextconfig) bound).getContext();
+	}
+}
@@ -0,0 +1,42 @@
+import benchmark.ContentionBenchmark;
+import benchmark.ExecutorContentionBenchmark;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+public class ContentionWorkload implements ContentionBenchmark.Workload, ExecutorContentionBenchmark.Workload {
+	static class Dependency {
+	}
+
+	static class Component {
+		@Inject
+		public Component(Dependency dependency) {
+		}
+	}
+
+	@Singleton
+	static class SingletonComponent {
+		@Inject
+		public SingletonComponent(Dependency dependency) {
+		}
+	}
+
+	private final Context context;
+
+	public ContentionWorkload() {
+		Contextconfig config = new Contextconfig();
+		config.bind(Dependency.class, Dependency.class);
+		config.bind(Component.class, Component.class);
+		config.bind(SingletonComponent.class, SingletonComponent.class);
+		context = config.getContext();
+	}
+
+	@Override
+	public Object transientGet() {
+		return context.getOrNull(Component.class);
+	}
+
+	@Override
+	public Object singletonGet() {
+		return context.getOrNull(SingletonComponent.class);
+	}
+}
@@ -0,0 +1,33 @@
+import benchmark.FootprintBenchmark;
+import jakarta.inject.Singleton;
+
+public class FootprintWorkload implements FootprintBenchmark.Workload {
+	private final String binding;
+	private final int size;
+	private final ComponentGraph graph;
+
+	public FootprintWorkload(String binding, int size) {
+		this.binding = binding;
+		this.size = size;
+		this.graph = ComponentGraph.generate("wide", size);
+	}
+
+	@Override
+	public Object build(int containers) {
+		Object[] built = new Object[containers];
+		Object instance = new Object();
+		for (int i = 0; i < containers; i++) {
+			Contextconfig config = new Contextconfig();
+			switch (binding) {
+				case "instance" -> {
+					for (int component = 0; component < size; component++) config.bind(Key.named(Object.class, "component" + component), instance);
+				}
+				case "transient" -> graph.bind(config);
+				case "singleton" -> graph.bind(config, Singleton.class);
+				default -> throw new IllegalArgumentException(binding);
+			}
+			built[i] = new Object[]{config, config.getContext()};
+		}
+		return built;
+	}
+}
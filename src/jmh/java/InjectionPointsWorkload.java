@@ -0,0 +1,48 @@
+import benchmark.InjectionPointsBenchmark;
+import jakarta.inject.Inject;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static java.util.Arrays.stream;
+
+public class InjectionPointsWorkload implements InjectionPointsBenchmark.Workload {
+	private final Class<?> leaf;
+
+	public InjectionPointsWorkload(int depth, int methods) {
+		leaf = ComponentGraph.hierarchy(depth, methods);
+	}
+
+	@Override
+	public Object cached() {
+		return InjectionPoints.of(leaf);
+	}
+
+	@Override
+	public Object scan() {
+		return new InjectionPoints<>(leaf);
+	}
+
+	@Override
+	public Object injectMethods() {
+		return InjectionPoints.getInjectMethods(leaf);
+	}
+
+	@Override
+	public Object nestedScanInjectMethods() {
+		List<Method> injectMethods = new ArrayList<>();
+		Class<?> current = leaf;
+		while (current != Object.class) {
+			injectMethods.addAll(stream(current.getDeclaredMethods()).filter(m -> m.isAnnotationPresent(Inject.class))
+				.filter(m -> injectMethods.stream().noneMatch(o -> o.getName().equals(m.getName()) && Arrays.equals(o.getParameterTypes(), m.getParameterTypes())))
+				.filter(m -> stream(leaf.getDeclaredMethods()).filter(m1 -> !m1.isAnnotationPresent(Inject.class)).noneMatch(o -> o.getName().equals(m.getName()) && Arrays.equals(o.getParameterTypes(), m.getParameterTypes())))
+				.toList());
+			current = current.getSuperclass();
+		}
+		Collections.reverse(injectMethods);
+		return injectMethods;
+	}
+}
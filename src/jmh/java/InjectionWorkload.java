@@ -0,0 +1,91 @@
+import benchmark.InjectionBenchmark;
+import jakarta.inject.Inject;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+import static java.util.Arrays.stream;
+
+public class InjectionWorkload implements InjectionBenchmark.Workload {
+	static class Dependency {
+	}
+
+	static class ConstructorInjected {
+		final Dependency dependency;
+
+		@Inject
+		public ConstructorInjected(Dependency dependency) {
+			this.dependency = dependency;
+		}
+	}
+
+	static class FieldInjected {
+		@Inject
+		Dependency dependency;
+	}
+
+	static class MethodInjected {
+		Dependency dependency;
+
+		@Inject
+		void install(Dependency dependency) {
+			this.dependency = dependency;
+		}
+	}
+
+	private final Context context;
+	private final Constructor<ConstructorInjected> constructor;
+	private final Constructor<FieldInjected> fieldInjectedConstructor;
+	private final Field field;
+	private final Constructor<MethodInjected> methodInjectedConstructor;
+	private final Method method;
+
+	public InjectionWorkload() throws ReflectiveOperationException {
+		Contextconfig config = new Contextconfig();
+		config.bind(Dependency.class, new Dependency());
+		config.bind(ConstructorInjected.class, ConstructorInjected.class);
+		config.bind(FieldInjected.class, FieldInjected.class);
+		config.bind(MethodInjected.class, MethodInjected.class);
+		context = config.getContext();
+		constructor = ConstructorInjected.class.getConstructor(Dependency.class);
+		fieldInjectedConstructor = FieldInjected.class.getDeclaredConstructor();
+		field = FieldInjected.class.getDeclaredField("dependency");
+		methodInjectedConstructor = MethodInjected.class.getDeclaredConstructor();
+		method = MethodInjected.class.getDeclaredMethod("install", Dependency.class);
+	}
+
+	@Override
+	public Object constructorInjection() {
+		return context.getOrNull(ConstructorInjected.class);
+	}
+
+	@Override
+	public Object fieldInjection() {
+		return context.getOrNull(FieldInjected.class);
+	}
+
+	@Override
+	public Object methodInjection() {
+		return context.getOrNull(MethodInjected.class);
+	}
+
+	@Override
+	public Object reflectiveConstructorInjection() throws ReflectiveOperationException {
+		return constructor.newInstance(stream(constructor.getParameters()).map(p -> context.get(p.getType()).get()).toArray(Object[]::new));
+	}
+
+	@Override
+	public Object reflectiveFieldInjection() throws ReflectiveOperationException {
+		FieldInjected instance = fieldInjectedConstructor.newInstance(stream(fieldInjectedConstructor.getParameters()).map(p -> context.get(p.getType()).get()).toArray(Object[]::new));
+		field.set(instance, context.get(field.getType()).get());
+		return instance;
+	}
+
+	@Override
+	public Object reflectiveMethodInjection() throws ReflectiveOperationException {
+		MethodInjected instance = methodInjectedConstructor.newInstance(stream(methodInjectedConstructor.getParameters()).map(p -> context.get(p.getType()).get()).toArray(Object[]::new));
+		method.invoke(instance, stream(method.getParameterTypes()).map(p -> context.get(p).get()).toArray(Object[]::new));
+		return instance;
+	}
+}
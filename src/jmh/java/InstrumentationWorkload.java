@@ -0,0 +1,20 @@
+import benchmark.InstrumentationBenchmark;
+
+public class InstrumentationWorkload implements InstrumentationBenchmark.Workload {
+	private final Context context;
+	private final Class<?> root;
+
+	public InstrumentationWorkload(boolean instrumented, String shape, int size) {
+		ComponentGraph graph = ComponentGraph.generate(shape, size);
+		Contextconfig config = new Contextconfig();
+		if (instrumented) config.instrument(new Instrumentation());
+		graph.bind(config);
+		context = config.getContext();
+		root = graph.root();
+	}
+
+	@Override
+	public Object resolve() {
+		return context.getOrNull(root);
+	}
+}
@@ -0,0 +1,58 @@
+import benchmark.KeyLookupBenchmark;
+
+public class KeyLookupWorkload implements KeyLookupBenchmark.Workload {
+	static class Service {
+	}
+
+	static class Repository<T> {
+	}
+
+	static class Entity {
+	}
+
+	private final Context context;
+	private final Key<Service> service = Key.of(Service.class);
+	private final Key<Service> primary = Key.named(Service.class, "primary");
+	private final Key<?> services = Key.of(Key.parameterized(Repository.class, Service.class));
+	private final Key<?> entities = Key.of(Key.parameterized(Repository.class, Entity.class));
+
+	public KeyLookupWorkload(int size) {
+		Contextconfig config = new Contextconfig();
+		ComponentGraph.generate("wide", size).bind(config);
+		config.bind(Service.class, new Service());
+		config.bind(primary, new Service());
+		config.bind((Key<Repository<Service>>) services, new Repository<>());
+		config.bind(Repository.class, new Repository<>());
+		context = config.getContext();
+	}
+
+	@Override
+	public Object byClass() {
+		return context.getOrNull(Service.class);
+	}
+
+	@Override
+	public Object byClassKey() {
+		return context.getOrNull(service);
+	}
+
+	@Override
+	public Object byQualifiedKey() {
+		return context.getOrNull(primary);
+	}
+
+	@Override
+	public Object byParameterizedKey() {
+		return context.getOrNull(services);
+	}
+
+	@Override
+	public Object byRawFallback() {
+		return context.getOrNull(entities);
+	}
+
+	@Override
+	public Object internQualifiedKey() {
+		return Key.named(Service.class, "primary");
+	}
+}
@@ -0,0 +1,41 @@
+import benchmark.PoolBenchmark;
+
+public class PoolWorkload implements PoolBenchmark.Workload {
+	static class Parser {
+		final byte[] buffer;
+		int position;
+
+		public Parser() {
+			buffer = new byte[64 * 1024];
+		}
+
+		int parse(int value) {
+			buffer[position++ % buffer.length] = (byte) value;
+			return position;
+		}
+	}
+
+	static class Pooled extends Parser {
+	}
+
+	private final Context context;
+
+	public PoolWorkload() {
+		Contextconfig config = new Contextconfig();
+		config.bind(Parser.class, Parser.class);
+		config.pool(Pooled.class, Pooled.class, PooledProvider.CAPACITY, parser -> parser.position = 0);
+		context = config.getContext();
+	}
+
+	@Override
+	public int transientParse() {
+		return context.require(Parser.class).parse(1);
+	}
+
+	@Override
+	public int pooledParse() {
+		try (Lease<Pooled> lease = context.borrow(Pooled.class)) {
+			return lease.get().parse(1);
+		}
+	}
+}
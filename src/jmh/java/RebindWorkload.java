@@ -0,0 +1,25 @@
+import benchmark.RebindBenchmark;
+
+public class RebindWorkload implements RebindBenchmark.Workload {
+	private final ComponentGraph graph;
+	private final Contextconfig bound = new Contextconfig();
+
+	public RebindWorkload(String shape, int size) {
+		graph = ComponentGraph.generate(shape, size);
+		graph.bind(bound);
+		bound.getContext();
+	}
+
+	@Override
+	public Object rebindLeaf() {
+		graph.bindLeaf(bound);
+		return bound.getContext();
+	}
+
+	@Override
+	public Object rebuild() {
+		Contextconfig config = new Contextconfig();
+		graph.bind(config);
+		return config.getContext();
+	}
+}
@@ -0,0 +1,24 @@
+import benchmark.ResolutionBenchmark;
+
+public class ResolutionWorkload implements ResolutionBenchmark.Workload {
+	private final Context context;
+	private final Class<?> root;
+
+	public ResolutionWorkload(String shape, int size) {
+		ComponentGraph graph = ComponentGraph.generate(shape, size);
+		Contextconfig config = new Contextconfig();
+		graph.bind(config);
+		context = config.getContext();
+		root = graph.root();
+	}
+
+	@Override
+	public Object getOrNull() {
+		return context.getOrNull(root);
+	}
+
+	@Override
+	public Object get() {
+		return context.get(root).get();
+	}
+}
@@ -0,0 +1,44 @@
+import benchmark.ScanBenchmark;
+
+import java.io.ByteArrayInputStream;
+
+public class ScanWorkload implements ScanBenchmark.Workload {
+	private final String shape;
+	private final int size;
+	private ComponentGraph graph;
+	private byte[] index;
+
+	public ScanWorkload(String shape, int size) {
+		this.shape = shape;
+		this.size = size;
+	}
+
+	@Override
+	public void generate() {
+		graph = ComponentGraph.generate(shape, size);
+		index = graph.index();
+	}
+
+	@Override
+	public Object boundBoot() {
+		Contextconfig config = new Contextconfig();
+		graph.bind(config);
+		return config.getContext();
+	}
+
+	@Override
+	public Object indexedBoot() {
+		return scan().getContext();
+	}
+
+	@Override
+	public Object indexedFirstResolution() {
+		return scan().getContext().get(graph.root());
+	}
+
+	private Contextconfig scan() {
+		Contextconfig config = new Contextconfig();
+		config.scan(new ByteArrayInputStream(index), graph.loader);
+		return config;
+	}
+}
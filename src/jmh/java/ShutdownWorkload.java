@@ -0,0 +1,97 @@
+import benchmark.ShutdownBenchmark;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import java.time.Duration;
+import java.util.List;
+
+public class ShutdownWorkload implements ShutdownBenchmark.Workload {
+	abstract static class Resource implements AutoCloseable {
+		@Override
+		public void close() throws InterruptedException {
+			Thread.sleep(ShutdownBenchmark.CLOSE_MILLIS);
+		}
+	}
+
+	static class Pool extends Resource {
+	}
+
+	static class First extends Resource {
+		@Inject
+		public First(Pool pool) {
+		}
+	}
+
+	static class Second extends Resource {
+		@Inject
+		public Second(Pool pool) {
+		}
+	}
+
+	static class Third extends Resource {
+		@Inject
+		public Third(Pool pool) {
+		}
+	}
+
+	static class Fourth extends Resource {
+		@Inject
+		public Fourth(Pool pool) {
+		}
+	}
+
+	static class Inner extends Resource {
+		@Inject
+		public Inner(Pool pool) {
+		}
+	}
+
+	static class Middle extends Resource {
+		@Inject
+		public Middle(Inner inner) {
+		}
+	}
+
+	static class Outer extends Resource {
+		@Inject
+		public Outer(Middle middle) {
+		}
+	}
+
+	static class Edge extends Resource {
+		@Inject
+		public Edge(Outer outer) {
+		}
+	}
+
+	private static final List<Class<? extends Resource>> RESOURCES = List.of(Pool.class, First.class, Second.class, Third.class, Fourth.class,
+		Inner.class, Middle.class, Outer.class, Edge.class);
+
+	private final List<Class<? extends Resource>> roots;
+	private Context context;
+
+	public ShutdownWorkload(String shape) {
+		roots = switch (shape) {
+			case "wide" -> List.of(First.class, Second.class, Third.class, Fourth.class);
+			case "chain" -> List.of(Edge.class);
+			default -> throw new IllegalArgumentException(shape);
+		};
+	}
+
+	@Override
+	public void open() {
+		Contextconfig config = new Contextconfig();
+		for (Class<? extends Resource> type : RESOURCES) bind(config, type);
+		context = config.getContext();
+		for (Class<? extends Resource> root : roots) context.require(root);
+	}
+
+	@Override
+	public void close(boolean parallel) {
+		context.close(parallel ? VirtualThreads.EXECUTOR : Runnable::run, Duration.ofSeconds(1));
+	}
+
+	private static <T extends Resource> void bind(Contextconfig config, Class<T> type) {
+		config.bind(type, type, Singleton.class);
+	}
+}
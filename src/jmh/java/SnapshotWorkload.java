@@ -0,0 +1,41 @@
+import benchmark.SnapshotBenchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+public class SnapshotWorkload implements SnapshotBenchmark.Workload {
+	private final String shape;
+	private final int size;
+	private ComponentGraph graph;
+	private byte[] plan;
+
+	public SnapshotWorkload(String shape, int size) {
+		this.shape = shape;
+		this.size = size;
+	}
+
+	@Override
+	public void generate() {
+		ComponentGraph exported = ComponentGraph.generate(shape, size);
+		Contextconfig config = new Contextconfig();
+		exported.bind(config);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		config.export(out);
+		plan = out.toByteArray();
+		graph = exported.reload();
+	}
+
+	@Override
+	public Object coldBoot() {
+		Contextconfig config = new Contextconfig();
+		graph.bind(config);
+		return config.getContext();
+	}
+
+	@Override
+	public Object snapshotBoot() {
+		Contextconfig config = new Contextconfig();
+		if (!config.load(new ByteArrayInputStream(plan), graph.loader)) throw new IllegalStateException();
+		return config.getContext();
+	}
+}
@@ -0,0 +1,67 @@
+import benchmark.ThreadScopeBenchmark;
+import jakarta.inject.Inject;
+
+public class ThreadScopeWorkload implements ThreadScopeBenchmark.Workload {
+	static class Digest {
+		final byte[] state = new byte[256];
+	}
+
+	static class Formatter {
+		final StringBuilder buffer = new StringBuilder(1024);
+		final Digest digest;
+
+		@Inject
+		public Formatter(Digest digest) {
+			this.digest = digest;
+		}
+
+		int format(int value) {
+			buffer.setLength(0);
+			buffer.append(value);
+			digest.state[value & 0xff]++;
+			return buffer.length();
+		}
+	}
+
+	static class Confined extends Formatter {
+		@Inject
+		public Confined(Digest digest) {
+			super(digest);
+		}
+	}
+
+	private final Context transients;
+	private final Context confined;
+
+	public ThreadScopeWorkload() {
+		Contextconfig config = new Contextconfig();
+		config.bind(Digest.class, Digest.class);
+		config.bind(Formatter.class, Formatter.class);
+		transients = config.getContext();
+
+		Contextconfig threadScoped = new Contextconfig();
+		threadScoped.bind(Digest.class, Digest.class, ThreadScoped.class);
+		threadScoped.bind(Formatter.class, Formatter.class, ThreadScoped.class);
+		threadScoped.confine(Confined.class, Confined.class, formatter -> formatter.buffer.setLength(0));
+		confined = threadScoped.getContext();
+	}
+
+	@Override
+	public int transientFormat() {
+		return transients.require(Formatter.class).format(1);
+	}
+
+	@Override
+	public int threadScopedFormat() {
+		return confined.require(Formatter.class).format(1);
+	}
+
+	@Override
+	public int confinedFormat() {
+		int length = 0;
+		try (ThreadConfinement confinement = ThreadConfinement.open()) {
+			for (int i = 0; i < ThreadScopeBenchmark.REGION; i++) length += confined.require(Confined.class).format(i);
+		}
+		return length;
+	}
+}
@@ -0,0 +1,36 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class AsyncBenchmark {
+	public interface Workload {
+		Object get();
+
+		Object getAsync() throws Exception;
+	}
+
+	private Workload workload;
+
+	@Setup
+	public void setUp() {
+		workload = Workloads.load(Workload.class, "AsyncWorkload");
+	}
+
+	@Benchmark
+	public Object get() {
+		return workload.get();
+	}
+
+	@Benchmark
+	public Object getAsync() throws Exception {
+		return workload.getAsync();
+	}
+}
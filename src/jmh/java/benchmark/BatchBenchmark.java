@@ -0,0 +1,36 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class BatchBenchmark {
+	public interface Workload {
+		Object separateGets();
+
+		Object batchGet();
+	}
+
+	private Workload workload;
+
+	@Setup
+	public void setUp() {
+		workload = Workloads.load(Workload.class, "BatchWorkload");
+	}
+
+	@Benchmark
+	public Object separateGets() {
+		return workload.separateGets();
+	}
+
+	@Benchmark
+	public Object batchGet() {
+		return workload.batchGet();
+	}
+}
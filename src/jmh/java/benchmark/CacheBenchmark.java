@@ -0,0 +1,37 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(Threads.MAX)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CacheBenchmark {
+	public interface Workload {
+		Object transientGet();
+
+		Object cachedGet();
+	}
+
+	private Workload workload;
+
+	@Setup
+	public void setUp() {
+		workload = Workloads.load(Workload.class, "CacheWorkload");
+	}
+
+	@Benchmark
+	public Object transientGet() {
+		return workload.transientGet();
+	}
+
+	@Benchmark
+	public Object cachedGet() {
+		return workload.cachedGet();
+	}
+}
@@ -0,0 +1,39 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ChildContextBenchmark {
+	public interface Workload {
+		Object createChild();
+
+		Object createChildAndResolve();
+	}
+
+	@Param({"100", "10000"})
+	int parentSize;
+
+	private Workload workload;
+
+	@Setup
+	public void setUp() {
+		workload = Workloads.load(Workload.class, "ChildContextWorkload", parentSize);
+	}
+
+	@Benchmark
+	public Object createChild() {
+		return workload.createChild();
+	}
+
+	@Benchmark
+	public Object createChildAndResolve() {
+		return workload.createChildAndResolve();
+	}
+}
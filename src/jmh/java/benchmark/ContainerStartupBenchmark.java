@@ -0,0 +1,54 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ContainerStartupBenchmark {
+	public interface Workload {
+		Object bindAndValidate();
+
+		Object bind();
+
+		Object validate(Object bound);
+	}
+
+	@State(Scope.Thread)
+	public static class Bound {
+		Object config;
+
+		@Setup(Level.Invocation)
+		public void bind(ContainerStartupBenchmark benchmark) {
+			config = benchmark.workload.bind();
+		}
+	}
+
+	@Param({"chain", "wide", "diamond"})
+	String shape;
+
+	@Param({"100", "1000", "10000"})
+	int size;
+
+	private Workload workload;
+
+	@Setup
+	public void setUp() {
+		workload = Workloads.load(Workload.class, "ContainerStartupWorkload", shape, size);
+	}
+
+	@Benchmark
+	public Object bindAndValidate() {
+		return workload.bindAndValidate();
+	}
+
+	@Benchmark
+	public Object validate(Bound bound) {
+		return workload.validate(bound.config);
+	}
+}
@@ -0,0 +1,37 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(Threads.MAX)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ContentionBenchmark {
+	public interface Workload {
+		Object transientGet();
+
+		Object singletonGet();
+	}
+
+	private Workload workload;
+
+	@Setup
+	public void setUp() {
+		workload = Workloads.load(Workload.class, "ContentionWorkload");
+	}
+
+	@Benchmark
+	public Object transientGet() {
+		return workload.transientGet();
+	}
+
+	@Benchmark
+	public Object singletonGet() {
+		return workload.singletonGet();
+	}
+}
@@ -0,0 +1,66 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@OperationsPerInvocation(ExecutorContentionBenchmark.TASKS * ExecutorContentionBenchmark.RESOLUTIONS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ExecutorContentionBenchmark {
+	static final int TASKS = 1000;
+	static final int RESOLUTIONS = 100;
+
+	public interface Workload {
+		Object transientGet();
+
+		Object singletonGet();
+	}
+
+	@Param({"platform"})
+	String threads;
+
+	private Workload workload;
+	private ExecutorService executor;
+
+	@Setup
+	public void setUp() throws ReflectiveOperationException {
+		workload = Workloads.load(Workload.class, "ContentionWorkload");
+		executor = threads.equals("platform") ? Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors())
+			: (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+	}
+
+	@TearDown
+	public void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Benchmark
+	public Object transientGet() throws Exception {
+		return resolve(workload::transientGet);
+	}
+
+	@Benchmark
+	public Object singletonGet() throws Exception {
+		return resolve(workload::singletonGet);
+	}
+
+	private Object resolve(Callable<Object> resolution) throws Exception {
+		List<Future<Object>> tasks = new ArrayList<>(TASKS);
+		for (int i = 0; i < TASKS; i++)
+			tasks.add(executor.submit(() -> {
+				Object last = null;
+				for (int j = 0; j < RESOLUTIONS; j++) last = resolution.call();
+				return last;
+			}));
+		Object last = null;
+		for (Future<Object> task : tasks) last = task.get();
+		return last;
+	}
+}
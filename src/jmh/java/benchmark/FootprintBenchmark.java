@@ -0,0 +1,56 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.ref.Reference;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseSerialGC")
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class FootprintBenchmark {
+	private static final int CONTAINERS = 100;
+	private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+	public interface Workload {
+		Object build(int containers);
+	}
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class Footprint {
+		public double bytesPerBinding;
+	}
+
+	@Param({"instance", "transient", "singleton"})
+	String binding;
+
+	@Param({"100", "1000"})
+	int size;
+
+	private Workload workload;
+
+	@Setup
+	public void setUp() {
+		workload = Workloads.load(Workload.class, "FootprintWorkload", binding, size);
+	}
+
+	@Benchmark
+	public void retained(Footprint footprint) {
+		long before = usedHeap();
+		Object containers = workload.build(CONTAINERS);
+		long after = usedHeap();
+		footprint.bytesPerBinding = (double) (after - before) / ((long) CONTAINERS * size);
+		Reference.reachabilityFence(containers);
+	}
+
+	private static long usedHeap() {
+		for (int i = 0; i < 3; i++) System.gc();
+		return MEMORY.getHeapMemoryUsage().getUsed();
+	}
+}
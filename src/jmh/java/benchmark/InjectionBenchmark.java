@@ -0,0 +1,64 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class InjectionBenchmark {
+	public interface Workload {
+		Object constructorInjection();
+
+		Object fieldInjection();
+
+		Object methodInjection();
+
+		Object reflectiveConstructorInjection() throws ReflectiveOperationException;
+
+		Object reflectiveFieldInjection() throws ReflectiveOperationException;
+
+		Object reflectiveMethodInjection() throws ReflectiveOperationException;
+	}
+
+	private Workload workload;
+
+	@Setup
+	public void setUp() {
+		workload = Workloads.load(Workload.class, "InjectionWorkload");
+	}
+
+	@Benchmark
+	public Object constructorInjection() {
+		return workload.constructorInjection();
+	}
+
+	@Benchmark
+	public Object fieldInjection() {
+		return workload.fieldInjection();
+	}
+
+	@Benchmark
+	public Object methodInjection() {
+		return workload.methodInjection();
+	}
+
+	@Benchmark
+	public Object reflectiveConstructorInjection() throws ReflectiveOperationException {
+		return workload.reflectiveConstructorInjection();
+	}
+
+	@Benchmark
+	public Object reflectiveFieldInjection() throws ReflectiveOperationException {
+		return workload.reflectiveFieldInjection();
+	}
+
+	@Benchmark
+	public Object reflectiveMethodInjection() throws ReflectiveOperationException {
+		return workload.reflectiveMethodInjection();
+	}
+}
@@ -0,0 +1,56 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class InjectionPointsBenchmark {
+	public interface Workload {
+		Object cached();
+
+		Object scan();
+
+		Object injectMethods();
+
+		Object nestedScanInjectMethods();
+	}
+
+	@Param({"4", "16"})
+	int depth;
+
+	@Param({"50", "200"})
+	int methods;
+
+	private Workload workload;
+
+	@Setup
+	public void setUp() {
+		workload = Workloads.load(Workload.class, "InjectionPointsWorkload", depth, methods);
+	}
+
+	@Benchmark
+	public Object cached() {
+		return workload.cached();
+	}
+
+	@Benchmark
+	public Object scan() {
+		return workload.scan();
+	}
+
+	@Benchmark
+	public Object injectMethods() {
+		return workload.injectMethods();
+	}
+
+	@Benchmark
+	public Object nestedScanInjectMethods() {
+		return workload.nestedScanInjectMethods();
+	}
+}
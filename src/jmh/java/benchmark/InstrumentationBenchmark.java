@@ -0,0 +1,38 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class InstrumentationBenchmark {
+	public interface Workload {
+		Object resolve();
+	}
+
+	@Param({"off", "on"})
+	String instrumentation;
+
+	@Param({"chain", "wide"})
+	String shape;
+
+	@Param({"10", "100"})
+	int size;
+
+	private Workload workload;
+
+	@Setup
+	public void setUp() {
+		workload = Workloads.load(Workload.class, "InstrumentationWorkload", instrumentation.equals("on"), shape, size);
+	}
+
+	@Benchmark
+	public Object resolve() {
+		return workload.resolve();
+	}
+}
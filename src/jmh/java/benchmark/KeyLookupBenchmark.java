@@ -0,0 +1,67 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class KeyLookupBenchmark {
+	public interface Workload {
+		Object byClass();
+
+		Object byClassKey();
+
+		Object byQualifiedKey();
+
+		Object byParameterizedKey();
+
+		Object byRawFallback();
+
+		Object internQualifiedKey();
+	}
+
+	@Param({"10", "1000"})
+	int size;
+
+	private Workload workload;
+
+	@Setup
+	public void setUp() {
+		workload = Workloads.load(Workload.class, "KeyLookupWorkload", size);
+	}
+
+	@Benchmark
+	public Object byClass() {
+		return workload.byClass();
+	}
+
+	@Benchmark
+	public Object byClassKey() {
+		return workload.byClassKey();
+	}
+
+	@Benchmark
+	public Object byQualifiedKey() {
+		return workload.byQualifiedKey();
+	}
+
+	@Benchmark
+	public Object byParameterizedKey() {
+		return workload.byParameterizedKey();
+	}
+
+	@Benchmark
+	public Object byRawFallback() {
+		return workload.byRawFallback();
+	}
+
+	@Benchmark
+	public Object internQualifiedKey() {
+		return workload.internQualifiedKey();
+	}
+}
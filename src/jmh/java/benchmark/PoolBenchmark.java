@@ -0,0 +1,37 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(Threads.MAX)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PoolBenchmark {
+	public interface Workload {
+		int transientParse();
+
+		int pooledParse();
+	}
+
+	private Workload workload;
+
+	@Setup
+	public void setUp() {
+		workload = Workloads.load(Workload.class, "PoolWorkload");
+	}
+
+	@Benchmark
+	public int transientParse() {
+		return workload.transientParse();
+	}
+
+	@Benchmark
+	public int pooledParse() {
+		return workload.pooledParse();
+	}
+}
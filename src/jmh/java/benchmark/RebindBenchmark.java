@@ -0,0 +1,42 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RebindBenchmark {
+	public interface Workload {
+		Object rebindLeaf();
+
+		Object rebuild();
+	}
+
+	@Param({"chain", "wide", "diamond"})
+	String shape;
+
+	@Param({"10000"})
+	int size;
+
+	private Workload workload;
+
+	@Setup
+	public void setUp() {
+		workload = Workloads.load(Workload.class, "RebindWorkload", shape, size);
+	}
+
+	@Benchmark
+	public Object rebindLeaf() {
+		return workload.rebindLeaf();
+	}
+
+	@Benchmark
+	public Object rebuild() {
+		return workload.rebuild();
+	}
+}
@@ -0,0 +1,42 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ResolutionBenchmark {
+	public interface Workload {
+		Object getOrNull();
+
+		Object get();
+	}
+
+	@Param({"chain", "wide"})
+	String shape;
+
+	@Param({"10", "100", "1000"})
+	int size;
+
+	private Workload workload;
+
+	@Setup
+	public void setUp() {
+		workload = Workloads.load(Workload.class, "ResolutionWorkload", shape, size);
+	}
+
+	@Benchmark
+	public Object getOrNull() {
+		return workload.getOrNull();
+	}
+
+	@Benchmark
+	public Object get() {
+		return workload.get();
+	}
+}
@@ -0,0 +1,56 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class ScanBenchmark {
+	public interface Workload {
+		void generate();
+
+		Object boundBoot();
+
+		Object indexedBoot();
+
+		Object indexedFirstResolution();
+	}
+
+	@Param({"chain", "wide", "diamond"})
+	String shape;
+
+	@Param({"1000", "10000"})
+	int size;
+
+	private Workload workload;
+
+	@Setup
+	public void setUp() {
+		workload = Workloads.load(Workload.class, "ScanWorkload", shape, size);
+	}
+
+	@Setup(Level.Iteration)
+	public void generate() {
+		workload.generate();
+	}
+
+	@Benchmark
+	public Object boundBoot() {
+		return workload.boundBoot();
+	}
+
+	@Benchmark
+	public Object indexedBoot() {
+		return workload.indexedBoot();
+	}
+
+	@Benchmark
+	public Object indexedFirstResolution() {
+		return workload.indexedFirstResolution();
+	}
+}
@@ -0,0 +1,46 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+public class ShutdownBenchmark {
+	public static final int CLOSE_MILLIS = 5;
+
+	public interface Workload {
+		void open();
+
+		void close(boolean parallel);
+	}
+
+	@Param({"wide", "chain"})
+	String shape;
+
+	private Workload workload;
+
+	@Setup
+	public void setUp() {
+		workload = Workloads.load(Workload.class, "ShutdownWorkload", shape);
+	}
+
+	@Setup(Level.Iteration)
+	public void open() {
+		workload.open();
+	}
+
+	@Benchmark
+	public void parallelClose() {
+		workload.close(true);
+	}
+
+	@Benchmark
+	public void sequentialClose() {
+		workload.close(false);
+	}
+}
@@ -0,0 +1,49 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class SnapshotBenchmark {
+	public interface Workload {
+		void generate();
+
+		Object coldBoot();
+
+		Object snapshotBoot();
+	}
+
+	@Param({"chain", "wide", "diamond"})
+	String shape;
+
+	@Param({"1000", "10000"})
+	int size;
+
+	private Workload workload;
+
+	@Setup
+	public void setUp() {
+		workload = Workloads.load(Workload.class, "SnapshotWorkload", shape, size);
+	}
+
+	@Setup(Level.Iteration)
+	public void generate() {
+		workload.generate();
+	}
+
+	@Benchmark
+	public Object coldBoot() {
+		return workload.coldBoot();
+	}
+
+	@Benchmark
+	public Object snapshotBoot() {
+		return workload.snapshotBoot();
+	}
+}
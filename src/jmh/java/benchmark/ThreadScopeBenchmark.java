@@ -0,0 +1,47 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(Threads.MAX)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ThreadScopeBenchmark {
+	public static final int REGION = 16;
+
+	public interface Workload {
+		int transientFormat();
+
+		int threadScopedFormat();
+
+		int confinedFormat();
+	}
+
+	private Workload workload;
+
+	@Setup
+	public void setUp() {
+		workload = Workloads.load(Workload.class, "ThreadScopeWorkload");
+	}
+
+	@Benchmark
+	public int transientFormat() {
+		return workload.transientFormat();
+	}
+
+	@Benchmark
+	public int threadScopedFormat() {
+		return workload.threadScopedFormat();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(REGION)
+	public int confinedFormat() {
+		return workload.confinedFormat();
+	}
+}
@@ -0,0 +1,20 @@
+package benchmark;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+
+import static java.util.Arrays.stream;
+
+class Workloads {
+	static <T> T load(Class<T> type, String workload, Object... arguments) {
+		try {
+			Constructor<?> constructor = stream(Class.forName(workload).getConstructors())
+				.filter(c -> c.getParameterCount() == arguments.length).findFirst().orElseThrow();
+			return type.cast(constructor.newInstance(arguments));
+		} catch (InvocationTargetException e) {
+			throw new IllegalStateException(e.getCause());
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
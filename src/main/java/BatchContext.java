@@ -0,0 +1,66 @@
+import java.util.Arrays;
+
+class BatchContext extends CompiledContext {
+	private static final int EMPTY = Integer.MIN_VALUE;
+
+	private final CompiledContext context;
+	private int[] keys = empty(16);
+	private Object[] instances = new Object[16];
+	private int size;
+	private volatile boolean closed;
+
+	BatchContext(CompiledContext context) {
+		super(context);
+		this.context = context;
+	}
+
+	@Override
+	Object get(int slot) {
+		if (closed || !shared(slot)) return super.get(slot);
+		int index = index(keys, slot);
+		if (keys[index] == slot) return instances[index];
+		Object instance = super.get(slot);
+		put(slot, instance);
+		return instance;
+	}
+
+	@Override
+	<T> SingletonProvider<T> requestScoped(ComponentProvider<T> key, ComponentProvider<T> provider) {
+		return context.requestScoped(key, provider);
+	}
+
+	void end() {
+		closed = true;
+	}
+
+	private void put(int slot, Object instance) {
+		if (++size * 2 > keys.length) {
+			int[] keys = this.keys;
+			Object[] instances = this.instances;
+			this.keys = empty(keys.length * 2);
+			this.instances = new Object[keys.length * 2];
+			for (int i = 0; i < keys.length; i++)
+				if (keys[i] != EMPTY) {
+					int index = index(this.keys, keys[i]);
+					this.keys[index] = keys[i];
+					this.instances[index] = instances[i];
+				}
+		}
+		int index = index(keys, slot);
+		keys[index] = slot;
+		instances[index] = instance;
+	}
+
+	private static int index(int[] keys, int slot) {
+		int mask = keys.length - 1;
+		int index = (slot * 0x9e3779b9) >>> 16 & mask;
+		while (keys[index] != EMPTY && keys[index] != slot) index = index + 1 & mask;
+		return index;
+	}
+
+	private static int[] empty(int capacity) {
+		int[] keys = new int[capacity];
+		Arrays.fill(keys, EMPTY);
+		return keys;
+	}
+}
@@ -0,0 +1,49 @@
+import java.util.concurrent.atomic.LongAdder;
+
+public class CacheMetrics {
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder expirations = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+	private final LongAdder collections = new LongAdder();
+
+	void hit() {
+		hits.increment();
+	}
+
+	void miss() {
+		misses.increment();
+	}
+
+	void expire() {
+		expirations.increment();
+	}
+
+	void evict() {
+		evictions.increment();
+	}
+
+	void collect() {
+		collections.increment();
+	}
+
+	public long hits() {
+		return hits.sum();
+	}
+
+	public long misses() {
+		return misses.sum();
+	}
+
+	public long expirations() {
+		return expirations.sum();
+	}
+
+	public long evictions() {
+		return evictions.sum();
+	}
+
+	public long collections() {
+		return collections.sum();
+	}
+}
@@ -0,0 +1,74 @@
+import java.lang.ref.Reference;
+import java.lang.ref.SoftReference;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+class CacheScope implements ScopeProvider {
+	private static final int PURGE_THRESHOLD = 64;
+
+	private final int maxEntries;
+	private final long timeToLive;
+	private final LongSupplier ticker;
+	private final Function<Object, Reference<Object>> references;
+	private final Queue<CachedProvider<?>.Entry> entries = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger size = new AtomicInteger();
+	private final AtomicInteger retired = new AtomicInteger();
+
+	CacheScope() {
+		this(Integer.MAX_VALUE, null);
+	}
+
+	CacheScope(int maxEntries, Duration timeToLive) {
+		this(maxEntries, timeToLive, System::nanoTime, SoftReference::new);
+	}
+
+	CacheScope(int maxEntries, Duration timeToLive, LongSupplier ticker, Function<Object, Reference<Object>> references) {
+		if (maxEntries < 1 || timeToLive != null && (timeToLive.isNegative() || timeToLive.isZero())) throw new IllegalArgumentException();
+		this.maxEntries = maxEntries;
+		this.timeToLive = timeToLive == null ? Long.MAX_VALUE : timeToLive.toNanos();
+		this.ticker = ticker;
+		this.references = references;
+	}
+
+	@Override
+	public ComponentProvider<?> create(ComponentProvider<?> provider) {
+		return new CachedProvider<>(provider, this);
+	}
+
+	<T> Reference<T> reference(T value) {
+		return (Reference<T>) references.apply(value);
+	}
+
+	long now() {
+		return ticker.getAsLong();
+	}
+
+	long expiresAt(long created) {
+		return timeToLive == Long.MAX_VALUE || created + timeToLive < created ? Long.MAX_VALUE : created + timeToLive;
+	}
+
+	void admit(CachedProvider<?>.Entry entry) {
+		entries.add(entry);
+		size.incrementAndGet();
+		while (size.get() > maxEntries) {
+			CachedProvider<?>.Entry oldest = entries.poll();
+			if (oldest == null) return;
+			if (oldest.retire()) oldest.evicted();
+		}
+	}
+
+	void retired(CachedProvider<?>.Entry entry) {
+		removed();
+		int pending = retired.incrementAndGet();
+		if (pending > Math.max(size.get(), PURGE_THRESHOLD) && retired.compareAndSet(pending, 0))
+			entries.removeIf(CachedProvider.Entry::retired);
+	}
+
+	void removed() {
+		size.decrementAndGet();
+	}
+}
@@ -0,0 +1,126 @@
+import java.lang.ref.Reference;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+class CachedProvider<T> implements ComponentProvider<T> {
+	private final ComponentProvider<T> provider;
+	private final CacheScope scope;
+	private final AtomicReference<Entry> entry = new AtomicReference<>();
+	private final CacheMetrics metrics = new CacheMetrics();
+
+	CachedProvider(ComponentProvider<T> provider, CacheScope scope) {
+		this.provider = provider;
+		this.scope = scope;
+	}
+
+	@Override
+	public T get(Context context) {
+		return get(() -> provider.get(context));
+	}
+
+	@Override
+	public T get(CompiledContext context, int[] dependencies) {
+		return get(() -> provider.get(context, dependencies));
+	}
+
+	@Override
+	public T get(CompiledContext context, int[] dependencies, ResolutionMetrics metrics) {
+		return get(() -> provider.get(context, dependencies, metrics));
+	}
+
+	CacheMetrics metrics() {
+		return metrics;
+	}
+
+	private T get(Callable<T> factory) {
+		while (true) {
+			Entry current = entry.get();
+			Entry created = null;
+			boolean building = current == null || !current.task.isDone();
+			if (current == null) {
+				created = new Entry(factory);
+				if (!entry.compareAndSet(null, created)) continue;
+				metrics.miss();
+				created.task.run();
+				current = created;
+			}
+			T value = current.value();
+			if (value != null && (building || current.live())) {
+				if (current != created) metrics.hit();
+				return value;
+			}
+			if (value == null && current.retire()) {
+				scope.retired(current);
+				metrics.collect();
+			} else if (value != null && current.expired() && current.retire()) {
+				scope.retired(current);
+				metrics.expire();
+			}
+			entry.compareAndSet(current, null);
+		}
+	}
+
+	@Override
+	public List<Class<?>> getDependency() {
+		return provider.getDependency();
+	}
+
+	@Override
+	public List<Key<?>> getDependencyKeys() {
+		return provider.getDependencyKeys();
+	}
+
+	class Entry {
+		private final FutureTask<Reference<T>> task;
+		private final AtomicBoolean retired = new AtomicBoolean();
+		private volatile long expiresAt = Long.MAX_VALUE;
+
+		Entry(Callable<T> factory) {
+			this.task = new FutureTask<>(() -> {
+				T value = factory.call();
+				expiresAt = scope.expiresAt(scope.now());
+				scope.admit(this);
+				return scope.reference(value);
+			});
+		}
+
+		T value() {
+			try {
+				return task.get().get();
+			} catch (ExecutionException e) {
+				entry.compareAndSet(this, null);
+				if (e.getCause() instanceof RuntimeException exception) throw exception;
+				if (e.getCause() instanceof Error error) throw error;
+				throw new RuntimeException(e.getCause());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(e);
+			}
+		}
+
+		boolean live() {
+			return !retired() && !expired();
+		}
+
+		boolean retired() {
+			return retired.get();
+		}
+
+		boolean expired() {
+			return scope.now() >= expiresAt;
+		}
+
+		boolean retire() {
+			return retired.compareAndSet(false, true);
+		}
+
+		void evicted() {
+			scope.removed();
+			metrics.evict();
+		}
+	}
+}
@@ -0,0 +1,363 @@
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static java.util.Arrays.stream;
+
+class CompiledContext implements Context {
+	private static final VarHandle REQUEST_SCOPED;
+	private static final int[] NO_DEPENDENCIES = new int[0];
+	private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(30);
+
+	static {
+		try {
+			REQUEST_SCOPED = MethodHandles.lookup().findVarHandle(CompiledContext.class, "requestScoped", Map.class);
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	private final Map<Key<?>, Integer> slots;
+	private final Map<Class<?>, Integer> classes;
+	private final Key<?>[] types;
+	private final ComponentProvider<?>[] bindings;
+	private final ComponentProvider<?>[] providers;
+	private final boolean[] shared;
+	private final int[][] dependencies;
+	private final AtomicReferenceArray<int[]> linked;
+	private final CompiledContext parent;
+	private final Map<Key<?>, Integer> imports;
+	private final Inherited[] inherited;
+	private final boolean view;
+	private volatile boolean closed;
+	private volatile Map<ComponentProvider<?>, SingletonProvider<?>> requestScoped;
+
+	CompiledContext(Map<Key<?>, ComponentProvider<?>> bindings, Instrumentation instrumentation, CompiledContext parent, Set<Key<?>> deferred) {
+		this.parent = parent;
+		this.view = false;
+		this.slots = new IdentityHashMap<>();
+		this.classes = new IdentityHashMap<>();
+		this.types = new Key<?>[bindings.size()];
+		this.bindings = new ComponentProvider<?>[bindings.size()];
+		this.providers = instrumentation == null ? this.bindings : new ComponentProvider<?>[bindings.size()];
+		this.shared = new boolean[bindings.size()];
+		this.dependencies = new int[providers.length][];
+		for (Map.Entry<Key<?>, ComponentProvider<?>> binding : bindings.entrySet()) {
+			int slot = slots.size();
+			slots.put(binding.getKey(), slot);
+			if (binding.getKey().isClass()) classes.put(binding.getKey().rawType(), slot);
+			types[slot] = binding.getKey();
+			this.bindings[slot] = binding.getValue();
+			shared[slot] = shared(binding.getValue());
+			if (instrumentation != null)
+				providers[slot] = new InstrumentedProvider<>(binding.getKey().rawType(), binding.getValue(), instrumentation.register(binding.getKey()));
+		}
+		Map<Key<?>, Integer> imports = new HashMap<>();
+		List<Inherited> inherited = new ArrayList<>();
+		if (parent != null)
+			for (ComponentProvider<?> provider : providers)
+				for (Key<?> key : provider.getDependencyKeys()) {
+					inherit(key, imports, inherited);
+					if (key.erased() != null) inherit(key.erased(), imports, inherited);
+				}
+		this.imports = imports.isEmpty() ? Map.of() : imports;
+		this.inherited = inherited.toArray(Inherited[]::new);
+		for (int slot = 0; slot < providers.length; slot++) {
+			if (deferred.contains(types[slot])) continue;
+			dependencies[slot] = link(providers[slot].getDependencyKeys());
+		}
+		this.linked = deferred.isEmpty() ? null : new AtomicReferenceArray<>(providers.length);
+	}
+
+	CompiledContext(CompiledContext shared) {
+		this.slots = shared.slots;
+		this.classes = shared.classes;
+		this.types = shared.types;
+		this.bindings = shared.bindings;
+		this.providers = shared.providers;
+		this.shared = shared.shared;
+		this.dependencies = shared.dependencies;
+		this.linked = shared.linked;
+		this.parent = shared.parent;
+		this.imports = shared.imports;
+		this.inherited = shared.inherited;
+		this.view = true;
+	}
+
+	CompiledContext requestView() {
+		return new CompiledContext(this);
+	}
+
+	boolean contains(Key<?> key) {
+		return locate(key) != null || key.erased() != null && locate(key.erased()) != null;
+	}
+
+	private int slot(Key<?> key) {
+		Integer slot = exact(key);
+		return slot != null ? slot : exact(key.erased());
+	}
+
+	private Integer exact(Key<?> key) {
+		Integer slot = slots.get(key);
+		return slot != null ? slot : imports.get(key);
+	}
+
+	private Inherited locate(Key<?> key) {
+		Integer slot = slots.get(key);
+		if (slot != null) return new Inherited(this, slot);
+		return parent == null ? null : parent.locate(key);
+	}
+
+	private void inherit(Key<?> key, Map<Key<?>, Integer> imports, List<Inherited> inherited) {
+		if (slots.containsKey(key) || imports.containsKey(key)) return;
+		Inherited location = parent.locate(key);
+		if (location == null) return;
+		imports.put(key, -inherited.size() - 1);
+		inherited.add(location);
+	}
+
+	@Override
+	public <T> Optional<T> get(Class<T> type) {
+		return Optional.ofNullable(getOrNull(type));
+	}
+
+	@Override
+	public <T> T getOrNull(Class<T> type) {
+		if (closed) throw new IllegalStateException();
+		Integer slot = classes.get(type);
+		if (slot != null) return (T) get(slot);
+		return parent == null ? null : parent.getOrNull(type);
+	}
+
+	@Override
+	public <T> Optional<T> get(Key<T> key) {
+		return Optional.ofNullable(getOrNull(key));
+	}
+
+	@Override
+	public <T> T getOrNull(Key<T> key) {
+		if (closed) throw new IllegalStateException();
+		Integer slot = slots.get(key);
+		if (slot != null) return (T) get(slot);
+		Inherited location = parent == null ? null : parent.locate(key);
+		return location == null ? null : (T) location.owner().get(location.slot());
+	}
+
+	@Override
+	public Components getAll(Class<?>... types) {
+		if (closed) throw new IllegalStateException();
+		Map<Class<?>, Object> components = new IdentityHashMap<>(types.length);
+		BatchContext batch = new BatchContext(this);
+		try {
+			for (Class<?> type : types) {
+				Integer slot = classes.get(type);
+				if (slot == null) slot = imports.get(Key.of(type));
+				Object component = slot != null ? batch.get(slot) : parent == null ? null : parent.getOrNull(type);
+				if (component != null) components.put(type, component);
+			}
+		} finally {
+			batch.end();
+		}
+		return new Components(components);
+	}
+
+	@Override
+	public <T> CompletableFuture<T> getAsync(Class<T> type, Executor executor) {
+		if (closed) return CompletableFuture.failedFuture(new IllegalStateException());
+		Integer slot = classes.get(type);
+		if (slot != null) return (CompletableFuture<T>) getAsync(slot, executor);
+		return parent == null ? CompletableFuture.failedFuture(new NoSuchElementException(type.getName())) : parent.getAsync(type, executor);
+	}
+
+	CompletableFuture<?> getAsync(int slot, Executor executor) {
+		if (slot < 0) return inherited[-slot - 1].owner().getAsync(inherited[-slot - 1].slot(), executor);
+		try {
+			return providers[slot].getAsync(this, dependencies(slot), executor);
+		} catch (RuntimeException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+	}
+
+	boolean shared(int slot) {
+		if (slot < 0) return inherited[-slot - 1].owner().shared(inherited[-slot - 1].slot());
+		return shared[slot];
+	}
+
+	static boolean shared(ComponentProvider<?> provider) {
+		return provider instanceof SingletonProvider<?> || provider instanceof RequestScopedProvider<?> || provider instanceof CachedProvider<?>
+			|| provider instanceof ThreadScopedProvider<?>;
+	}
+
+	@Override
+	public <T> Lease<T> borrow(Class<T> type) {
+		if (closed) throw new IllegalStateException();
+		Integer slot = classes.get(type);
+		if (slot == null) return parent == null ? Context.super.borrow(type) : parent.borrow(type);
+		T instance = (T) get(slot);
+		if (bindings[slot] instanceof PooledProvider<?> pooled) return new Lease<>(instance, ((PooledProvider<T>) pooled)::release);
+		return new Lease<>(instance, component -> {
+		});
+	}
+
+	Object get(int slot) {
+		if (slot < 0) return inherited[-slot - 1].owner().get(inherited[-slot - 1].slot());
+		return providers[slot].get(this, dependencies(slot));
+	}
+
+	private int[] dependencies(int slot) {
+		int[] dependency = dependencies[slot];
+		return dependency != null ? dependency : linked(slot);
+	}
+
+	private int[] linked(int root) {
+		int[] linked = this.linked.get(root);
+		if (linked != null) return linked;
+		Map<Integer, int[]> resolved = new HashMap<>();
+		Deque<Integer> visiting = new ArrayDeque<>();
+		Set<Integer> onPath = new HashSet<>();
+		Deque<PrimitiveIterator.OfInt> pending = new ArrayDeque<>();
+		link(root, resolved, visiting, onPath, pending);
+		while (!pending.isEmpty()) {
+			if (!pending.peek().hasNext()) {
+				onPath.remove(visiting.pop());
+				pending.pop();
+				continue;
+			}
+			int dependency = pending.peek().nextInt();
+			if (dependency < 0 || dependencies[dependency] != null || this.linked.get(dependency) != null) continue;
+			if (onPath.contains(dependency)) throw new CyclicDependencyException(cycle(visiting, dependency));
+			if (!resolved.containsKey(dependency)) link(dependency, resolved, visiting, onPath, pending);
+		}
+		resolved.forEach((slot, dependency) -> this.linked.compareAndSet(slot, null, dependency));
+		return this.linked.get(root);
+	}
+
+	private void link(int slot, Map<Integer, int[]> resolved, Deque<Integer> visiting, Set<Integer> onPath, Deque<PrimitiveIterator.OfInt> pending) {
+		List<Key<?>> dependency = providers[slot].getDependencyKeys();
+		for (Key<?> key : dependency)
+			if (!contains(key)) throw new DependencyNotFoundException(types[slot], key);
+		int[] linked = link(dependency);
+		resolved.put(slot, linked);
+		visiting.push(slot);
+		onPath.add(slot);
+		pending.push(stream(linked).iterator());
+	}
+
+	private int[] link(List<Key<?>> dependency) {
+		return dependency.isEmpty() ? NO_DEPENDENCIES : dependency.stream().mapToInt(this::slot).toArray();
+	}
+
+	private List<Class<?>> cycle(Deque<Integer> visiting, int dependency) {
+		List<Class<?>> cycle = new ArrayList<>();
+		for (int slot : visiting) {
+			cycle.add(types[slot].rawType());
+			if (slot == dependency) break;
+		}
+		Collections.reverse(cycle);
+		return cycle;
+	}
+
+	<T> SingletonProvider<T> requestScoped(ComponentProvider<T> key, ComponentProvider<T> provider) {
+		Map<ComponentProvider<?>, SingletonProvider<?>> scoped = requestScoped;
+		if (scoped == null) {
+			REQUEST_SCOPED.compareAndSet(this, null, new ConcurrentHashMap<>());
+			scoped = requestScoped;
+		}
+		return (SingletonProvider<T>) scoped.computeIfAbsent(key, k -> new SingletonProvider<>(provider));
+	}
+
+	Startup instantiateSingletons(Executor executor) {
+		int[] order = DependencyGraph.topologicalOrder(providers.length, this::dependencies);
+		CompletableFuture<?>[] built = new CompletableFuture<?>[providers.length];
+		long[] durations = new long[providers.length];
+		long start = System.nanoTime();
+		for (int slot : order) {
+			CompletableFuture<Void> ready = CompletableFuture.allOf(stream(dependencies(slot)).mapToObj(d -> built[d]).toArray(CompletableFuture<?>[]::new));
+			if (!(bindings[slot] instanceof SingletonProvider<?>)) built[slot] = ready;
+			else built[slot] = ready.thenRunAsync(() -> {
+				long begin = System.nanoTime();
+				get(slot);
+				durations[slot] = System.nanoTime() - begin;
+			}, executor);
+		}
+		CompletableFuture.allOf(built).exceptionally(e -> null).join();
+		Duration wallClock = Duration.ofNanos(System.nanoTime() - start);
+		for (int slot : order)
+			if (built[slot].isCompletedExceptionally()) {
+				Throwable failure = built[slot].handle((result, e) -> e instanceof CompletionException ? e.getCause() : e).join();
+				if (failure instanceof RuntimeException exception) throw exception;
+				if (failure instanceof Error error) throw error;
+				throw new RuntimeException(failure);
+			}
+		return new Startup(this, wallClock, Duration.ofNanos(stream(durations).sum()));
+	}
+
+	@Override
+	public void close() {
+		close(VirtualThreads.EXECUTOR, CLOSE_TIMEOUT);
+	}
+
+	@Override
+	public void close(Executor executor, Duration timeout) {
+		synchronized (this) {
+			if (closed) return;
+			closed = true;
+		}
+		Map<Key<?>, Throwable> failures = new ConcurrentHashMap<>();
+		shutdown(executor, timeout, failures);
+		if (parent != null && parent.view) parent.shutdown(executor, timeout, failures);
+		if (!failures.isEmpty()) throw new ShutdownException(failures);
+	}
+
+	private void shutdown(Executor executor, Duration timeout, Map<Key<?>, Throwable> failures) {
+		Map<ComponentProvider<?>, SingletonProvider<?>> scoped = requestScoped;
+		int[][] dependents = new int[providers.length][];
+		int[] counts = new int[providers.length];
+		for (int slot = 0; slot < providers.length; slot++)
+			for (int dependency : linkedOrEmpty(slot)) if (dependency >= 0) counts[dependency]++;
+		for (int slot = 0; slot < providers.length; slot++) dependents[slot] = new int[counts[slot]];
+		for (int slot = 0; slot < providers.length; slot++)
+			for (int dependency : linkedOrEmpty(slot)) if (dependency >= 0) dependents[dependency][--counts[dependency]] = slot;
+
+		int[] order = DependencyGraph.topologicalOrder(providers.length, this::linkedOrEmpty);
+		CompletableFuture<?>[] released = new CompletableFuture<?>[providers.length];
+		for (int i = order.length - 1; i >= 0; i--) {
+			int slot = order[i];
+			CompletableFuture<Void> ready = CompletableFuture.allOf(stream(dependents[slot]).mapToObj(d -> released[d]).toArray(CompletableFuture<?>[]::new));
+			SingletonProvider<?> request = scoped == null ? null : scoped.get(bindings[slot]);
+			Object instance = request != null ? request.instance()
+				: !view && bindings[slot] instanceof SingletonProvider<?> singleton && singleton.instance() instanceof AutoCloseable ? singleton.release() : null;
+			if (!(instance instanceof AutoCloseable closeable)) released[slot] = ready;
+			else released[slot] = ready.thenCompose(ignored -> CompletableFuture.runAsync(() -> release(closeable), executor)
+				.orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS)).handle((result, e) -> {
+				if (e != null) failures.put(types[slot], e instanceof CompletionException ? e.getCause() : e);
+				return null;
+			});
+		}
+		CompletableFuture.allOf(released).join();
+	}
+
+	private static void release(AutoCloseable closeable) {
+		try {
+			closeable.close();
+		} catch (Exception e) {
+			throw new CompletionException(e);
+		}
+	}
+
+	private int[] linkedOrEmpty(int slot) {
+		int[] dependency = dependencies[slot];
+		if (dependency == null && linked != null) dependency = linked.get(slot);
+		return dependency == null ? NO_DEPENDENCIES : dependency;
+	}
+
+	private record Inherited(CompiledContext owner, int slot) {
+	}
+}
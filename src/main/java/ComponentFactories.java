@@ -0,0 +1,21 @@
+import java.util.Optional;
+
+class ComponentFactories {
+	private static final ClassValue<Optional<ComponentProvider<?>>> factories = new ClassValue<>() {
+		@Override
+		protected Optional<ComponentProvider<?>> computeValue(Class<?> type) {
+			try {
+				Class<?> factory = Class.forName(type.getName() + "_Factory", true, type.getClassLoader());
+				return Optional.of((ComponentProvider<?>) factory.getDeclaredConstructor().newInstance());
+			} catch (ClassNotFoundException e) {
+				return Optional.empty();
+			} catch (ReflectiveOperationException e) {
+				throw new IllegalComponentException();
+			}
+		}
+	};
+
+	static Optional<ComponentProvider<?>> of(Class<?> implementation) {
+		return factories.get(implementation);
+	}
+}
@@ -0,0 +1,36 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.annotation.Annotation;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+class ComponentIndex {
+	static final String RESOURCE = "META-INF/components.index";
+
+	record Entry(Class<?> implementation, Class<? extends Annotation> scope) {
+	}
+
+	static void read(InputStream stream, ClassLoader loader, Map<Class<?>, Optional<Entry>> candidates) throws IOException {
+		BufferedReader reader = new BufferedReader(new InputStreamReader(stream, UTF_8));
+		for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+			if (line.isBlank()) continue;
+			String[] fields = line.split("\t");
+			if (fields.length < 3) throw new IllegalComponentException();
+			try {
+				Class<?> implementation = Class.forName(fields[0], false, loader);
+				Entry entry = new Entry(implementation, fields[1].isEmpty() ? null : Class.forName(fields[1], false, loader).asSubclass(Annotation.class));
+				for (int i = 2; i < fields.length; i++) {
+					Class<?> type = Class.forName(fields[i], false, loader);
+					if (!type.isAssignableFrom(implementation)) throw new IllegalComponentException();
+					candidates.merge(type, Optional.of(entry), (indexed, other) -> indexed.equals(other) ? indexed : Optional.empty());
+				}
+			} catch (ClassNotFoundException | ClassCastException e) {
+				throw new IllegalComponentException();
+			}
+		}
+	}
+}
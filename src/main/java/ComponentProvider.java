@@ -1,7 +1,25 @@
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 interface ComponentProvider<T> {
 	T get(Context context);
 
+	default T get(CompiledContext context, int[] dependencies) {
+		return get(context);
+	}
+
+	default T get(CompiledContext context, int[] dependencies, ResolutionMetrics metrics) {
+		return get(context, dependencies);
+	}
+
+	default CompletableFuture<T> getAsync(CompiledContext context, int[] dependencies, Executor executor) {
+		return CompletableFuture.supplyAsync(() -> get(context, dependencies), executor);
+	}
+
 	List<Class<?>> getDependency();
+
+	default List<Key<?>> getDependencyKeys() {
+		return getDependency().stream().<Key<?>>map(Key::of).toList();
+	}
 }
@@ -0,0 +1,21 @@
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+public final class Components {
+	private final Map<Class<?>, Object> components;
+
+	Components(Map<Class<?>, Object> components) {
+		this.components = components;
+	}
+
+	public <T> Optional<T> get(Class<T> type) {
+		return Optional.ofNullable((T) components.get(type));
+	}
+
+	public <T> T require(Class<T> type) {
+		T component = (T) components.get(type);
+		if (component == null) throw new NoSuchElementException(type.getName());
+		return component;
+	}
+}
@@ -1,85 +1,179 @@
-import jakarta.inject.Inject;
+import jakarta.inject.Provider;
 
-import java.lang.reflect.*;
-import java.util.ArrayList;
+import java.lang.invoke.MethodHandle;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import static java.util.Arrays.stream;
 
 class ConstructorInjectionProvider<T> implements ComponentProvider<T> {
-	private final Constructor<T> injectConstructors;
-	private final List<Field> injectFields;
-	private final List<Method> injectMethods;
+	private static final ClassValue<ConstructorInjectionProvider<?>> shared = new ClassValue<>() {
+		@Override
+		protected ConstructorInjectionProvider<?> computeValue(Class<?> type) {
+			return new ConstructorInjectionProvider<>(type);
+		}
+	};
+
+	private final InjectionPoints<T> injectionPoints;
+	private final Key<?>[] constructorDependencies;
+	private final boolean[] constructorProviders;
+	private final Key<?>[] fieldDependencies;
+	private final boolean[] fieldProviders;
+	private final Key<?>[][] methodDependencies;
+	private final boolean[][] methodProviders;
+	private final boolean[] providers;
 
 	public ConstructorInjectionProvider(Class<T> implementation) {
-		if (Modifier.isAbstract(implementation.getModifiers())) throw new IllegalComponentException();
-		this.injectConstructors = getInjectConstructors(implementation);
-		this.injectFields = getInjectFields(implementation);
-		this.injectMethods = getInjectMethods(implementation);
-		if (injectFields.stream().anyMatch(field -> Modifier.isFinal(field.getModifiers()))) throw new IllegalComponentException();
-		if (injectMethods.stream().anyMatch(method -> method.getTypeParameters().length > 0)) throw new IllegalComponentException();
-	}
-
-	private static <T> List<Method> getInjectMethods(Class<T> implementation) {
-		List<Method> injectMethods = new ArrayList<>();
-		Class<?> current = implementation;
-		while (current != Object.class) {
-			injectMethods.addAll(stream(current.getDeclaredMethods()).filter(m -> m.isAnnotationPresent(Inject.class))
-				.filter(m -> injectMethods.stream().noneMatch(o -> o.getName().equals(m.getName()) && Arrays.equals(o.getParameterTypes(), m.getParameterTypes())))
-				.filter(m -> stream(implementation.getDeclaredMethods()).filter(m1 -> !m1.isAnnotationPresent(Inject.class)).noneMatch(o -> o.getName().equals(m.getName()) && Arrays.equals(o.getParameterTypes(), m.getParameterTypes())))
-				.toList());
-			current = current.getSuperclass();
-		}
-		Collections.reverse(injectMethods);
-		return injectMethods;
+		this(InjectionPoints.of(implementation));
+	}
+
+	static <T> ConstructorInjectionProvider<T> of(Class<T> implementation) {
+		return (ConstructorInjectionProvider<T>) shared.get(implementation);
+	}
+
+	ConstructorInjectionProvider(InjectionPoints<T> injectionPoints) {
+		this.injectionPoints = injectionPoints;
+		this.constructorDependencies = injectionPoints.constructorKeys;
+		this.constructorProviders = injectionPoints.constructorProviders;
+		this.fieldDependencies = injectionPoints.fieldKeys;
+		this.fieldProviders = injectionPoints.fieldProviders;
+		this.methodDependencies = injectionPoints.methodKeys;
+		this.methodProviders = injectionPoints.methodProviders;
+		this.providers = injectionPoints.providers;
 	}
 
-	private static <T> List<Field> getInjectFields(Class<T> implementation) {
-		List<Field> injectFields = new ArrayList<>();
-		Class<?> current = implementation;
-		while (current != Object.class) {
-			injectFields.addAll(stream(current.getDeclaredFields()).filter(f -> f.isAnnotationPresent(Inject.class)).toList());
-			current = current.getSuperclass();
+	@Override
+	public T get(Context context) {
+		InjectionPoints.Invokers invokers = injectionPoints.invokers();
+		try {
+			T instance = (T) invokers.constructor().invokeExact(resolve(context, constructorDependencies, constructorProviders));
+			for (int i = 0; i < fieldDependencies.length; i++)
+				invokers.fields()[i].invokeExact((Object) instance, resolve(context, fieldDependencies[i], fieldProviders[i]));
+			for (int i = 0; i < methodDependencies.length; i++)
+				invokers.methods()[i].invokeExact((Object) instance, resolve(context, methodDependencies[i], methodProviders[i]));
+			return instance;
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new RuntimeException(e);
 		}
-		return injectFields;
 	}
 
-	private Constructor<T> getInjectConstructors(Class<T> implementation) {
-		List<Constructor<?>> constructors = stream(implementation.getConstructors()).filter(c -> c.isAnnotationPresent(Inject.class)).toList();
-		if (constructors.size() > 1) throw new IllegalComponentException();
-		return (Constructor<T>) constructors.stream().findFirst().orElseGet(() -> {
-			try {
-				return implementation.getDeclaredConstructor();
-			} catch (NoSuchMethodException e) {
-				throw new IllegalComponentException();
-			}
-		});
+	@Override
+	public T get(CompiledContext context, int[] dependencies) {
+		InjectionPoints.Invokers invokers = injectionPoints.invokers();
+		try {
+			T instance = construct(invokers, context, dependencies);
+			injectFields(invokers, instance, context, dependencies);
+			injectMethods(invokers, instance, context, dependencies);
+			return instance;
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new RuntimeException(e);
+		}
 	}
 
+	@Override
+	public T get(CompiledContext context, int[] dependencies, ResolutionMetrics metrics) {
+		InjectionPoints.Invokers invokers = injectionPoints.invokers();
+		try {
+			long start = System.nanoTime();
+			T instance = construct(invokers, context, dependencies);
+			long constructed = System.nanoTime();
+			injectFields(invokers, instance, context, dependencies);
+			long fieldsInjected = System.nanoTime();
+			injectMethods(invokers, instance, context, dependencies);
+			metrics.phases(constructed - start, fieldsInjected - constructed, System.nanoTime() - fieldsInjected);
+			return instance;
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new RuntimeException(e);
+		}
+	}
 
 	@Override
-	public T get(Context context) {
+	public CompletableFuture<T> getAsync(CompiledContext context, int[] dependencies, Executor executor) {
+		CompletableFuture<?>[] resolving = new CompletableFuture<?>[dependencies.length];
+		for (int i = 0; i < dependencies.length; i++)
+			resolving[i] = providers[i] ? CompletableFuture.completedFuture(resolve(context, dependencies[i], true)) : context.getAsync(dependencies[i], executor);
+		return CompletableFuture.allOf(resolving).thenApplyAsync(ignored -> inject(stream(resolving).map(CompletableFuture::join).toArray()), executor);
+	}
+
+	private T inject(Object[] resolved) {
+		InjectionPoints.Invokers invokers = injectionPoints.invokers();
 		try {
-			Object[] dependencies = stream(injectConstructors.getParameters()).map(p -> context.get(p.getType()).get()).toArray(Object[]::new);
-			T instance = injectConstructors.newInstance(dependencies);
-			for (Field field : injectFields) {
-				field.set(instance, context.get(field.getType()).get());
-			}
-			for (Method method : injectMethods) {
-				method.invoke(instance, stream(method.getParameterTypes()).map(p -> context.get(p).get()).toArray(Object[]::new));
-			}
+			int offset = fieldDependencies.length;
+			T instance = (T) invokers.constructor().invokeExact(Arrays.copyOfRange(resolved, offset, offset += constructorDependencies.length));
+			MethodHandle[] fields = invokers.fields();
+			for (int i = 0; i < fields.length; i++) fields[i].invokeExact((Object) instance, resolved[i]);
+			MethodHandle[] methods = invokers.methods();
+			for (int i = 0; i < methods.length; i++)
+				methods[i].invokeExact((Object) instance, Arrays.copyOfRange(resolved, offset, offset += methodDependencies[i].length));
 			return instance;
-		} catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
 			throw new RuntimeException(e);
 		}
 	}
 
+	private T construct(InjectionPoints.Invokers invokers, CompiledContext context, int[] dependencies) throws Throwable {
+		return (T) invokers.constructor().invokeExact(resolve(context, dependencies, fieldDependencies.length, constructorProviders));
+	}
+
+	private void injectFields(InjectionPoints.Invokers invokers, T instance, CompiledContext context, int[] dependencies) throws Throwable {
+		MethodHandle[] fields = invokers.fields();
+		for (int i = 0; i < fields.length; i++)
+			fields[i].invokeExact((Object) instance, resolve(context, dependencies[i], fieldProviders[i]));
+	}
+
+	private void injectMethods(InjectionPoints.Invokers invokers, T instance, CompiledContext context, int[] dependencies) throws Throwable {
+		MethodHandle[] methods = invokers.methods();
+		int offset = fieldDependencies.length + constructorDependencies.length;
+		for (int i = 0; i < methods.length; i++) {
+			methods[i].invokeExact((Object) instance, resolve(context, dependencies, offset, methodProviders[i]));
+			offset += methodDependencies[i].length;
+		}
+	}
+
+	private static Object[] resolve(CompiledContext context, int[] dependencies, int offset, boolean[] providers) {
+		Object[] resolved = new Object[providers.length];
+		for (int i = 0; i < providers.length; i++) resolved[i] = resolve(context, dependencies[offset + i], providers[i]);
+		return resolved;
+	}
+
+	private static Object resolve(CompiledContext context, int slot, boolean provider) {
+		return provider ? (Provider<Object>) () -> context.get(slot) : context.get(slot);
+	}
+
+	private static Object[] resolve(Context context, Key<?>[] dependencies, boolean[] providers) {
+		Object[] resolved = new Object[dependencies.length];
+		for (int i = 0; i < dependencies.length; i++) resolved[i] = resolve(context, dependencies[i], providers[i]);
+		return resolved;
+	}
+
+	private static Object resolve(Context context, Key<?> key, boolean provider) {
+		return provider ? (Provider<Object>) () -> resolve(context, key) : resolve(context, key);
+	}
+
+	private static Object resolve(Context context, Key<?> key) {
+		if (key.isClass()) return context.get(key.rawType()).get();
+		Optional<?> component = context.get(key);
+		return (component.isEmpty() && key.erased() != null ? context.get(key.erased()) : component).get();
+	}
+
 	@Override
 	public List<Class<?>> getDependency() {
-		return Stream.concat(Stream.concat(injectFields.stream().map(Field::getType), stream(injectConstructors.getParameters()).map(Parameter::getType)), injectMethods.stream().flatMap(m -> stream(m.getParameterTypes()))).toList();
+		return injectionPoints.dependencies;
+	}
+
+	@Override
+	public List<Key<?>> getDependencyKeys() {
+		return injectionPoints.keys;
 	}
 }
@@ -1,5 +1,56 @@
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
-public interface Context {
+public interface Context extends AutoCloseable {
 	<T> Optional<T> get(Class<T> type);
+
+	default <T> Optional<T> get(Key<T> key) {
+		return key.isClass() ? get(key.rawType()) : Optional.empty();
+	}
+
+	default <T> T getOrNull(Key<T> key) {
+		return get(key).orElse(null);
+	}
+
+	default <T> T getOrNull(Class<T> type) {
+		return get(type).orElse(null);
+	}
+
+	default <T> T require(Class<T> type) {
+		T component = getOrNull(type);
+		if (component == null) throw new NoSuchElementException(type.getName());
+		return component;
+	}
+
+	default <T> CompletableFuture<T> getAsync(Class<T> type) {
+		return getAsync(type, VirtualThreads.EXECUTOR);
+	}
+
+	default <T> CompletableFuture<T> getAsync(Class<T> type, Executor executor) {
+		return CompletableFuture.supplyAsync(() -> require(type), executor);
+	}
+
+	default Components getAll(Class<?>... types) {
+		Map<Class<?>, Object> components = new HashMap<>();
+		for (Class<?> type : types) get(type).ifPresent(component -> components.put(type, component));
+		return new Components(components);
+	}
+
+	default <T> Lease<T> borrow(Class<T> type) {
+		return new Lease<>(require(type), instance -> {
+		});
+	}
+
+	@Override
+	default void close() {
+	}
+
+	default void close(Executor executor, Duration timeout) {
+		close();
+	}
 }
@@ -1,46 +1,490 @@
+import jakarta.inject.Scope;
+import jakarta.inject.Singleton;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.annotation.Annotation;
+import java.net.URL;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
-import static java.util.Optional.ofNullable;
+import static java.util.Arrays.stream;
 
 public class Contextconfig {
-	private final Map<Class<?>, ComponentProvider<?>> providers = new HashMap<>();
+	private static final boolean FACTORIES = Boolean.parseBoolean(System.getProperty("container.factories", "true"));
 
-	public <T> void bind(Class<T> componentClass, T instance) {
-		providers.put(componentClass, new ComponentProvider<T>() {
-			@Override
-			public T get(Context context) {
-				return instance;
-			}
+	private static final ClassValue<List<Class<? extends Annotation>>> SCOPES = new ClassValue<>() {
+		@Override
+		protected List<Class<? extends Annotation>> computeValue(Class<?> type) {
+			return stream(type.getAnnotations()).map(Annotation::annotationType).filter(a -> a.isAnnotationPresent(Scope.class)).toList();
+		}
+	};
 
-			@Override
-			public List<Class<?>> getDependency() {
-				return List.of();
-			}
+	private final Map<Key<?>, ComponentProvider<?>> providers = new HashMap<>();
+	private final Map<Key<?>, Supplier<ComponentProvider<?>>> scoped = new HashMap<>();
+	private final Map<Key<?>, Implementation> implementations = new HashMap<>();
+	private final Map<Key<?>, Set<Key<?>>> dependents = new HashMap<>();
+	private final Set<Key<?>> validated = new HashSet<>();
+	private final Set<Key<?>> dirty = new HashSet<>();
+	private final Map<Key<?>, IndexedProvider<?>> indexed = new HashMap<>();
+	private final Set<Key<?>> untracked = new HashSet<>();
+	private final Map<Class<? extends Annotation>, ScopeProvider> scopes = new HashMap<>();
+	private Instrumentation instrumentation;
+
+	public Contextconfig() {
+		scope(Singleton.class, SingletonProvider::new);
+		scope(RequestScoped.class, RequestScopedProvider::new);
+		scope(PoolScoped.class, PooledProvider::new);
+		scope(CacheScoped.class, new CacheScope());
+		scope(ThreadScoped.class, ThreadScopedProvider::new);
+	}
+
+	public synchronized <ScopeType extends Annotation> void scope(Class<ScopeType> scope, ScopeProvider provider) {
+		scopes.put(scope, provider);
+	}
+
+	public synchronized <ScopeType extends Annotation> void cache(Class<ScopeType> scope, int maxEntries, Duration timeToLive) {
+		scope(scope, new CacheScope(maxEntries, timeToLive));
+	}
+
+	public synchronized void instrument(Instrumentation instrumentation) {
+		this.instrumentation = instrumentation;
+	}
+
+	public synchronized <T> void bind(Class<T> componentClass, T instance) {
+		bind(Key.of(componentClass), instance);
+	}
+
+	public synchronized <T> void bind(Key<T> key, T instance) {
+		put(key, new InstanceProvider<>(instance));
+	}
+
+	public synchronized <T, K extends T> void bind(Class<T> type, Class<K> implementation) {
+		bind(Key.of(type), implementation);
+	}
+
+	public synchronized <T, K extends T> void bind(Key<T> key, Class<K> implementation) {
+		if (!key.rawType().isAssignableFrom(implementation)) throw new IllegalComponentException();
+		List<Class<? extends Annotation>> scope = SCOPES.get(implementation);
+		if (scope.size() > 1) throw new IllegalComponentException();
+		if (!scope.isEmpty()) bind(key, implementation, scope.get(0));
+		else {
+			put(key, provider(implementation));
+			implementations.put(key, new Implementation(implementation, null));
+		}
+	}
+
+	public synchronized <T, K extends T> void bind(Class<T> type, Class<K> implementation, Class<? extends Annotation> scope) {
+		bind(Key.of(type), implementation, scope);
+	}
+
+	public synchronized <T, K extends T> void bind(Key<T> key, Class<K> implementation, Class<? extends Annotation> scope) {
+		if (!scopes.containsKey(scope)) throw new IllegalComponentException();
+		bind(key, provider(implementation), scope);
+		implementations.put(key, new Implementation(implementation, scope));
+	}
+
+	public synchronized <T, K extends T> void pool(Class<T> type, Class<K> implementation, int capacity, Consumer<? super K> reset) {
+		if (capacity < 1) throw new IllegalArgumentException();
+		Key<T> key = Key.of(type);
+		bind(key, provider(implementation), provider -> new PooledProvider<>((ComponentProvider<K>) provider, capacity, reset));
+		implementations.put(key, new Implementation(implementation, PoolScoped.class));
+	}
+
+	public synchronized <T, K extends T> void confine(Class<T> type, Class<K> implementation, Consumer<? super K> cleanup) {
+		Key<T> key = Key.of(type);
+		bind(key, provider(implementation), provider -> new ThreadScopedProvider<>((ComponentProvider<K>) provider, cleanup));
+		implementations.put(key, new Implementation(implementation, ThreadScoped.class));
+	}
+
+	public synchronized Optional<PoolMetrics> poolMetrics(Class<?> type) {
+		return providers.get(Key.of(type)) instanceof PooledProvider<?> pooled ? Optional.of(pooled.metrics()) : Optional.empty();
+	}
+
+	public synchronized Optional<CacheMetrics> cacheMetrics(Class<?> type) {
+		return providers.get(Key.of(type)) instanceof CachedProvider<?> cached ? Optional.of(cached.metrics()) : Optional.empty();
+	}
+
+	private void bind(Key<?> type, ComponentProvider<?> provider, Class<? extends Annotation> scope) {
+		bind(type, provider, scopes.get(scope));
+	}
+
+	private void bind(Key<?> type, ComponentProvider<?> provider, ScopeProvider scopeProvider) {
+		put(type, scopeProvider.create(provider));
+		scoped.put(type, () -> scopeProvider.create(provider));
+	}
+
+	public void scan() {
+		scan(Thread.currentThread().getContextClassLoader());
+	}
+
+	public void scan(ClassLoader loader) {
+		Map<Class<?>, Optional<ComponentIndex.Entry>> candidates = new LinkedHashMap<>();
+		try {
+			for (URL index : Collections.list(loader.getResources(ComponentIndex.RESOURCE)))
+				try (InputStream stream = index.openStream()) {
+					ComponentIndex.read(stream, loader, candidates);
+				}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		index(candidates);
+	}
+
+	public void scan(InputStream index, ClassLoader loader) {
+		Map<Class<?>, Optional<ComponentIndex.Entry>> candidates = new LinkedHashMap<>();
+		try {
+			ComponentIndex.read(index, loader, candidates);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		index(candidates);
+	}
+
+	private synchronized void index(Map<Class<?>, Optional<ComponentIndex.Entry>> candidates) {
+		if (candidates.values().stream().flatMap(Optional::stream).anyMatch(e -> e.scope() != null && !scopes.containsKey(e.scope())))
+			throw new IllegalComponentException();
+		candidates.forEach((type, entry) -> {
+			if (entry.isPresent() && !providers.containsKey(Key.of(type))) index(Key.of(type), entry.get());
+		});
+	}
+
+	private void index(Key<?> type, ComponentIndex.Entry entry) {
+		IndexedProvider<?> provider = new IndexedProvider<>(entry.implementation());
+		ScopeProvider scopeProvider = entry.scope() == null ? null : scopes.get(entry.scope());
+		providers.put(type, scopeProvider == null ? provider : scopeProvider.create(provider));
+		if (scopeProvider != null) scoped.put(type, () -> scopeProvider.create(provider));
+		implementations.put(type, new Implementation(entry.implementation(), entry.scope()));
+		indexed.put(type, provider);
+		untracked.add(type);
+		invalidate(type);
+	}
+
+	public boolean load(InputStream plan) {
+		return load(plan, Thread.currentThread().getContextClassLoader());
+	}
+
+	public boolean load(InputStream plan, ClassLoader loader) {
+		Optional<List<InjectionPlan.Entry>> entries;
+		try {
+			entries = InjectionPlan.read(plan, loader);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return entries.isPresent() && load(entries.get());
+	}
+
+	private synchronized boolean load(List<InjectionPlan.Entry> entries) {
+		if (entries.stream().anyMatch(e -> e.scope() != null && !scopes.containsKey(e.scope()))) return false;
+		Set<Key<?>> loaded = new HashSet<>();
+		for (InjectionPlan.Entry entry : entries) {
+			Class<?> implementation = entry.injectionPoints().injectConstructor.getDeclaringClass();
+			ComponentProvider<?> provider = FACTORIES && entry.factory() ? ComponentFactories.of(implementation).orElseGet(() -> new ConstructorInjectionProvider<>(entry.injectionPoints()))
+				: new ConstructorInjectionProvider<>(entry.injectionPoints());
+			if (entry.scope() == null) put(entry.type(), provider);
+			else bind(entry.type(), provider, entry.scope());
+			implementations.put(entry.type(), new Implementation(implementation, entry.scope()));
+			loaded.add(entry.type());
+		}
+		Deque<Key<?>> open = new ArrayDeque<>();
+		for (Key<?> type : loaded)
+			if (!loaded.containsAll(providers.get(type).getDependencyKeys())) open.push(type);
+		Set<Key<?>> unchecked = new HashSet<>(open);
+		while (!open.isEmpty())
+			for (Key<?> dependent : dependents.getOrDefault(open.pop(), Set.of()))
+				if (loaded.contains(dependent) && unchecked.add(dependent)) open.push(dependent);
+		for (Key<?> type : loaded)
+			if (!unchecked.contains(type) && dirty.remove(type)) validated.add(type);
+		return true;
+	}
+
+	public synchronized void export(OutputStream plan) {
+		for (Key<?> type : indexed.keySet()) checkDependency(type, validated, t -> false);
+		validate();
+		List<InjectionPlan.Entry> entries = implementations.entrySet().stream()
+			.map(e -> new InjectionPlan.Entry(e.getKey(), InjectionPoints.of(e.getValue().type()), e.getValue().scope(), ComponentFactories.of(e.getValue().type()).isPresent())).toList();
+		try {
+			InjectionPlan.write(entries, plan);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	public synchronized DependencyGraph graph() {
+		for (Key<?> type : indexed.keySet()) checkDependency(type, validated, t -> false);
+		validate();
+		Map<Key<?>, DependencyGraph.Binding> bindings = new HashMap<>();
+		providers.forEach((type, provider) -> {
+			Implementation implementation = implementations.get(type);
+			bindings.put(type, new DependencyGraph.Binding(implementation == null ? null : implementation.type(),
+				implementation == null ? null : implementation.scope(), CompiledContext.shared(provider), provider.getDependencyKeys()));
 		});
+		return new DependencyGraph(bindings);
+	}
+
+	public synchronized void unbind(Class<?> type) {
+		unbind(Key.of(type));
+	}
+
+	public synchronized void unbind(Key<?> type) {
+		if (!providers.containsKey(type)) return;
+		remove(type);
+		invalidate(type);
+	}
+
+	private void put(Key<?> type, ComponentProvider<?> provider) {
+		if (providers.containsKey(type)) remove(type);
+		providers.put(type, provider);
+		depend(type, provider);
+		invalidate(type);
+	}
+
+	private void depend(Key<?> type, ComponentProvider<?> provider) {
+		for (Key<?> dependency : provider.getDependencyKeys())
+			for (Key<?> edge = dependency; edge != null; edge = edge.erased())
+				dependents.computeIfAbsent(edge, d -> new LinkedHashSet<>()).add(type);
+	}
+
+	private void remove(Key<?> type) {
+		ComponentProvider<?> provider = providers.remove(type);
+		indexed.remove(type);
+		if (!untracked.remove(type)) for (Key<?> dependency : provider.getDependencyKeys())
+			for (Key<?> edge = dependency; edge != null; edge = edge.erased()) {
+				Set<Key<?>> components = dependents.get(edge);
+				if (components == null) continue;
+				components.remove(type);
+				if (components.isEmpty()) dependents.remove(edge);
+			}
+		scoped.remove(type);
+		implementations.remove(type);
+		validated.remove(type);
+		dirty.remove(type);
+	}
+
+	private void track() {
+		Iterator<Key<?>> pending = untracked.iterator();
+		while (pending.hasNext()) {
+			Key<?> type = pending.next();
+			if (!indexed.get(type).introspected()) continue;
+			depend(type, providers.get(type));
+			pending.remove();
+		}
+	}
+
+	private void invalidate(Key<?> type) {
+		track();
+		if (providers.containsKey(type)) dirty.add(type);
+		validated.remove(type);
+		Deque<Key<?>> pending = new ArrayDeque<>(dependents.getOrDefault(type, Set.of()));
+		Set<Key<?>> visited = new HashSet<>();
+		while (!pending.isEmpty()) {
+			Key<?> component = pending.pop();
+			if (!visited.add(component)) continue;
+			dirty.add(component);
+			validated.remove(component);
+			if (scoped.containsKey(component)) providers.put(component, scoped.get(component).get());
+			pending.addAll(dependents.getOrDefault(component, Set.of()));
+		}
+	}
+
+	static <T> ComponentProvider<T> provider(Class<T> implementation) {
+		if (FACTORIES) {
+			Optional<ComponentProvider<?>> factory = ComponentFactories.of(implementation);
+			if (factory.isPresent()) return (ComponentProvider<T>) factory.get();
+		}
+		return ConstructorInjectionProvider.of(implementation);
+	}
+
+
+	public synchronized Context getContext() {
+		validate();
+		return new CompiledContext(providers, instrumentation, null, indexed.keySet());
+	}
+
+	public synchronized Context getContext(Context parent) {
+		if (!(parent instanceof CompiledContext compiled)) throw new IllegalArgumentException();
+		Set<Key<?>> checked = new HashSet<>();
+		providers.keySet().forEach(c -> checkDependency(c, checked, compiled::contains));
+		return new CompiledContext(providers, instrumentation, compiled.requestView(), Set.of());
+	}
+
+	public Startup getContext(Executor executor) {
+		return ((CompiledContext) getContext()).instantiateSingletons(executor);
+	}
+
+	public synchronized void verify() {
+		check(type -> false);
+		validated.addAll(providers.keySet());
+		validate();
 	}
 
-	public <T, K extends T> void bind(Class<T> type, Class<K> implementation) {
-		providers.put(type, new ConstructorInjectionProvider<>(implementation));
+	public synchronized void verify(Context parent) {
+		if (!(parent instanceof CompiledContext compiled)) throw new IllegalArgumentException();
+		check(compiled::contains);
 	}
 
+	private void check(Predicate<Key<?>> inherited) {
+		List<DependencyNotFoundException> missing = new ArrayList<>();
+		List<CyclicDependencyException> cycles = new ArrayList<>();
+		Key<?>[] types = providers.keySet().toArray(Key<?>[]::new);
+		Map<Key<?>, Integer> slots = new HashMap<>();
+		for (Key<?> type : types) slots.put(type, slots.size());
+		int[][] edges = new int[types.length][];
+		for (int slot = 0; slot < types.length; slot++) {
+			List<Key<?>> dependency = providers.get(types[slot]).getDependencyKeys();
+			int[] edge = new int[dependency.size()];
+			int linked = 0;
+			for (Key<?> type : dependency) {
+				Key<?> required = target(type, inherited);
+				Integer target = slots.get(required);
+				if (target != null) edge[linked++] = target;
+				else if (!inherited.test(required)) missing.add(new DependencyNotFoundException(types[slot], type));
+			}
+			edges[slot] = Arrays.copyOf(edge, linked);
+		}
 
-	public Context getContext() {
-		providers.keySet().forEach(c -> checkDependency(c, new Stack<>()));
-		return new Context() {
-			@Override
-			public <T> Optional<T> get(Class<T> type) {
-				return ofNullable(providers.get(type)).map(c -> (T) c.get(this));
+		int[] index = new int[types.length];
+		int[] low = new int[types.length];
+		int[] component = new int[types.length];
+		Arrays.fill(index, -1);
+		Arrays.fill(component, -1);
+		int[] stack = new int[types.length];
+		int[] path = new int[types.length];
+		int[] next = new int[types.length];
+		int visited = 0;
+		int stacked = 0;
+		for (int root = 0; root < types.length; root++) {
+			if (index[root] != -1) continue;
+			int depth = 0;
+			path[0] = root;
+			next[0] = 0;
+			index[root] = low[root] = visited++;
+			stack[stacked++] = root;
+			while (depth >= 0) {
+				int slot = path[depth];
+				if (next[depth] < edges[slot].length) {
+					int dependency = edges[slot][next[depth]++];
+					if (index[dependency] == -1) {
+						index[dependency] = low[dependency] = visited++;
+						stack[stacked++] = dependency;
+						path[++depth] = dependency;
+						next[depth] = 0;
+					} else if (component[dependency] == -1) low[slot] = Math.min(low[slot], index[dependency]);
+					continue;
+				}
+				if (low[slot] == index[slot]) {
+					Set<Class<?>> members = new HashSet<>();
+					int size = 0;
+					int member;
+					do {
+						member = stack[--stacked];
+						component[member] = slot;
+						members.add(types[member].rawType());
+						size++;
+					} while (member != slot);
+					if (size > 1 || stream(edges[slot]).anyMatch(d -> d == slot))
+						cycles.add(new CyclicDependencyException(members, cycle(slot, edges, component, types)));
+				}
+				if (--depth >= 0) low[path[depth]] = Math.min(low[path[depth]], low[slot]);
 			}
-		};
+		}
+		if (!missing.isEmpty() || !cycles.isEmpty()) throw new ValidationException(missing, cycles);
+	}
+
+	private static List<Class<?>> cycle(int root, int[][] edges, int[] component, Key<?>[] types) {
+		Map<Integer, Integer> previous = new HashMap<>();
+		Deque<Integer> pending = new ArrayDeque<>(List.of(root));
+		while (!pending.isEmpty() && !previous.containsKey(root)) {
+			int slot = pending.poll();
+			for (int dependency : edges[slot])
+				if (component[dependency] == root && !previous.containsKey(dependency)) {
+					previous.put(dependency, slot);
+					pending.add(dependency);
+				}
+		}
+		List<Class<?>> cycle = new ArrayList<>();
+		int slot = root;
+		do {
+			slot = previous.get(slot);
+			cycle.add(types[slot].rawType());
+		} while (slot != root);
+		Collections.reverse(cycle);
+		return cycle;
+	}
+
+	private void validate() {
+		try {
+			for (Key<?> component : dirty)
+				if (!indexed.containsKey(component)) checkDependency(component, validated, type -> false);
+		} finally {
+			link();
+		}
+		dirty.retainAll(indexed.keySet());
 	}
 
-	private void checkDependency(Class<?> component, Stack<Class<?>> visiting) {
-		for (Class<?> dependency : providers.get(component).getDependency()) {
-			if (!providers.containsKey(dependency)) throw new DependencyNotFoundException(component, dependency);
-			if (visiting.contains(dependency)) throw new CyclicDependencyException(visiting);
+	private void link() {
+		Iterator<Key<?>> deferred = indexed.keySet().iterator();
+		while (deferred.hasNext()) {
+			Key<?> type = deferred.next();
+			if (!validated.contains(type)) continue;
+			if (untracked.remove(type)) depend(type, providers.get(type));
+			deferred.remove();
+		}
+	}
+
+	private void checkDependency(Key<?> component, Set<Key<?>> checked, Predicate<Key<?>> inherited) {
+		if (checked.contains(component)) return;
+		Deque<Key<?>> visiting = new ArrayDeque<>();
+		Set<Key<?>> onPath = new HashSet<>();
+		Deque<Iterator<Key<?>>> dependencies = new ArrayDeque<>();
+		visiting.push(component);
+		onPath.add(component);
+		dependencies.push(providers.get(component).getDependencyKeys().iterator());
+		while (!dependencies.isEmpty()) {
+			Iterator<Key<?>> iterator = dependencies.peek();
+			if (!iterator.hasNext()) {
+				Key<?> done = visiting.pop();
+				onPath.remove(done);
+				checked.add(done);
+				dependencies.pop();
+				continue;
+			}
+			Key<?> required = iterator.next();
+			Key<?> dependency = target(required, inherited);
+			if (!providers.containsKey(dependency)) {
+				if (inherited.test(dependency)) continue;
+				throw new DependencyNotFoundException(visiting.peek(), required);
+			}
+			if (onPath.contains(dependency)) throw new CyclicDependencyException(cycle(visiting, dependency));
+			if (checked.contains(dependency)) continue;
 			visiting.push(dependency);
-			checkDependency(dependency, visiting);
-			visiting.pop();
+			onPath.add(dependency);
+			dependencies.push(providers.get(dependency).getDependencyKeys().iterator());
 		}
 	}
+
+	private Key<?> target(Key<?> dependency, Predicate<Key<?>> inherited) {
+		Key<?> erased = dependency.erased();
+		if (erased == null || providers.containsKey(dependency) || inherited.test(dependency)) return dependency;
+		return providers.containsKey(erased) || inherited.test(erased) ? erased : dependency;
+	}
+
+	private static List<Class<?>> cycle(Deque<Key<?>> visiting, Key<?> dependency) {
+		List<Class<?>> cycle = new ArrayList<>();
+		for (Key<?> component : visiting) {
+			cycle.add(component.rawType());
+			if (component == dependency) break;
+		}
+		Collections.reverse(cycle);
+		return cycle;
+	}
+
+	private record Implementation(Class<?> type, Class<? extends Annotation> scope) {
+	}
 }
@@ -5,22 +5,34 @@ import java.util.Stack;
 
 public class CyclicDependencyException extends RuntimeException {
 	private final Set<Class<?>> components = new HashSet<>();
+	private final List<Class<?>> path;
 
 	public CyclicDependencyException(Class<?> component) {
 		components.add(component);
+		path = List.of(component);
 	}
 
 	public CyclicDependencyException(Set<Class<?>> componentset, Class<?> componentType) {
 		components.add(componentType);
 		components.addAll(componentset);
+		path = List.of();
 	}
 
 	public CyclicDependencyException(List<Class<?>> visiting) {
 		components.addAll(visiting);
+		path = List.copyOf(visiting);
+	}
 
+	public CyclicDependencyException(Set<Class<?>> componentset, List<Class<?>> path) {
+		components.addAll(componentset);
+		this.path = List.copyOf(path);
 	}
 
 	public Set<Class<?>> getComponents() {
 		return components;
 	}
+
+	public List<Class<?>> getPath() {
+		return path;
+	}
 }
@@ -0,0 +1,183 @@
+import java.lang.annotation.Annotation;
+import java.util.*;
+import java.util.function.IntFunction;
+
+import static java.util.Comparator.comparing;
+
+public class DependencyGraph {
+	public record Node(Key<?> key, Class<?> implementation, Class<? extends Annotation> scope, boolean shared,
+	                   List<Key<?>> dependencies, Set<Key<?>> dependents, int closure, long instances, long demand) {
+		public Class<?> type() {
+			return key.rawType();
+		}
+
+		public int fanIn() {
+			return dependents.size();
+		}
+
+		public int fanOut() {
+			return new HashSet<>(dependencies).size();
+		}
+
+		public long savings() {
+			if (shared || implementation == null || demand <= 1) return 0;
+			return times(demand - 1, instances);
+		}
+	}
+
+	record Binding(Class<?> implementation, Class<? extends Annotation> scope, boolean shared, List<Key<?>> dependencies) {
+	}
+
+	private final Map<Key<?>, Node> nodes = new LinkedHashMap<>();
+
+	DependencyGraph(Map<Key<?>, Binding> bindings) {
+		List<Key<?>> types = bindings.keySet().stream().sorted(comparing(Key::toString)).toList();
+		Map<Key<?>, Integer> index = new HashMap<>();
+		for (Key<?> type : types) index.put(type, index.size());
+		int[][] edges = types.stream().map(t -> bindings.get(t).dependencies().stream()
+			.mapToInt(d -> index.getOrDefault(d, index.get(d.erased()))).toArray()).toArray(int[][]::new);
+		int[] order = topologicalOrder(edges.length, slot -> edges[slot]);
+
+		List<Set<Key<?>>> dependents = new ArrayList<>();
+		for (int i = 0; i < types.size(); i++) dependents.add(new TreeSet<>(comparing(Key::toString)));
+		for (int i = 0; i < edges.length; i++)
+			for (int dependency : edges[i]) dependents.get(dependency).add(types.get(i));
+
+		BitSet[] closure = new BitSet[types.size()];
+		long[] instances = new long[types.size()];
+		for (int slot : order) {
+			Binding binding = bindings.get(types.get(slot));
+			closure[slot] = new BitSet(types.size());
+			instances[slot] = binding.implementation() == null ? 0 : 1;
+			for (int dependency : edges[slot]) {
+				closure[slot].set(dependency);
+				closure[slot].or(closure[dependency]);
+				if (binding.implementation() != null && !bindings.get(types.get(dependency)).shared())
+					instances[slot] = plus(instances[slot], instances[dependency]);
+			}
+		}
+
+		long[] demand = new long[types.size()];
+		Arrays.fill(demand, 1);
+		for (int i = order.length - 1; i >= 0; i--) {
+			int slot = order[i];
+			long requested = bindings.get(types.get(slot)).shared() ? 1 : demand[slot];
+			for (int dependency : edges[slot]) demand[dependency] = plus(demand[dependency], requested);
+		}
+
+		for (int slot = 0; slot < types.size(); slot++) {
+			Key<?> type = types.get(slot);
+			Binding binding = bindings.get(type);
+			nodes.put(type, new Node(type, binding.implementation(), binding.scope(), binding.shared(), binding.dependencies(),
+				Collections.unmodifiableSet(dependents.get(slot)), closure[slot].cardinality(), instances[slot], demand[slot]));
+		}
+	}
+
+	public List<Node> nodes() {
+		return List.copyOf(nodes.values());
+	}
+
+	public Optional<Node> node(Class<?> type) {
+		return node(Key.of(type));
+	}
+
+	public Optional<Node> node(Key<?> key) {
+		return Optional.ofNullable(nodes.get(key));
+	}
+
+	public List<Node> candidates() {
+		return nodes.values().stream().filter(n -> n.savings() > 0)
+			.sorted(comparing(Node::savings).reversed().thenComparing(n -> n.key().toString())).toList();
+	}
+
+	public String toDot() {
+		StringBuilder dot = new StringBuilder("digraph components {\n");
+		for (Node node : nodes.values()) {
+			dot.append('\t').append(quote(node.key().toString())).append(" [shape=").append(node.shared() ? "box" : "ellipse")
+				.append(", label=").append(quote(node.key().simpleName()
+					+ (node.scope() == null ? "" : "\n@" + node.scope().getSimpleName())
+					+ "\ninstances=" + node.instances() + " demand=" + node.demand()))
+				.append("];\n");
+		}
+		for (Node node : nodes.values()) {
+			Map<Key<?>, Integer> edges = new LinkedHashMap<>();
+			for (Key<?> dependency : node.dependencies()) edges.merge(nodes.containsKey(dependency) ? dependency : dependency.erased(), 1, Integer::sum);
+			edges.forEach((dependency, count) -> {
+				dot.append('\t').append(quote(node.key().toString())).append(" -> ").append(quote(dependency.toString()));
+				if (count > 1) dot.append(" [label=").append(quote("x" + count)).append(']');
+				dot.append(";\n");
+			});
+		}
+		return dot.append("}\n").toString();
+	}
+
+	public String toJson() {
+		StringJoiner json = new StringJoiner(",", "{\"nodes\":[", "]}");
+		for (Node node : nodes.values()) {
+			StringJoiner dependencies = new StringJoiner(",", "[", "]");
+			node.dependencies().forEach(d -> dependencies.add(quote(d.toString())));
+			json.add("{\"type\":" + quote(node.key().toString())
+				+ ",\"implementation\":" + (node.implementation() == null ? "null" : quote(node.implementation().getName()))
+				+ ",\"scope\":" + (node.scope() == null ? "null" : quote(node.scope().getName()))
+				+ ",\"shared\":" + node.shared()
+				+ ",\"dependencies\":" + dependencies
+				+ ",\"fanIn\":" + node.fanIn()
+				+ ",\"fanOut\":" + node.fanOut()
+				+ ",\"closure\":" + node.closure()
+				+ ",\"instances\":" + node.instances()
+				+ ",\"demand\":" + node.demand() + "}");
+		}
+		return json.toString();
+	}
+
+	static int[] topologicalOrder(int size, IntFunction<int[]> edges) {
+		int[] order = new int[size];
+		int ordered = 0;
+		boolean[] visited = new boolean[size];
+		int[] path = new int[size];
+		int[] next = new int[size];
+		for (int root = 0; root < size; root++) {
+			if (visited[root]) continue;
+			int depth = 0;
+			path[0] = root;
+			next[0] = 0;
+			visited[root] = true;
+			while (depth >= 0) {
+				int slot = path[depth];
+				int[] dependencies = edges.apply(slot);
+				if (next[depth] == dependencies.length) {
+					order[ordered++] = slot;
+					depth--;
+					continue;
+				}
+				int dependency = dependencies[next[depth]++];
+				if (dependency < 0 || visited[dependency]) continue;
+				visited[dependency] = true;
+				path[++depth] = dependency;
+				next[depth] = 0;
+			}
+		}
+		return order;
+	}
+
+	private static String quote(String value) {
+		StringBuilder quoted = new StringBuilder("\"");
+		for (char c : value.toCharArray())
+			switch (c) {
+				case '"' -> quoted.append("\\\"");
+				case '\\' -> quoted.append("\\\\");
+				case '\n' -> quoted.append("\\n");
+				default -> quoted.append(c);
+			}
+		return quoted.append('"').toString();
+	}
+
+	private static long plus(long a, long b) {
+		long sum = a + b;
+		return sum < 0 ? Long.MAX_VALUE : sum;
+	}
+
+	private static long times(long a, long b) {
+		return b != 0 && a > Long.MAX_VALUE / b ? Long.MAX_VALUE : a * b;
+	}
+}
@@ -1,17 +1,29 @@
 public class DependencyNotFoundException extends RuntimeException {
-	private final Class<?> component;
-	private final Class<?> dependency;
+	private final Key<?> component;
+	private final Key<?> dependency;
 
 	public DependencyNotFoundException(Class<?> component, Class<?> dependency) {
+		this(Key.of(component), Key.of(dependency));
+	}
+
+	public DependencyNotFoundException(Key<?> component, Key<?> dependency) {
 		this.component = component;
 		this.dependency = dependency;
 	}
 
 	public Class<?> getDependency() {
-		return dependency;
+		return dependency.rawType();
 	}
 
 	public Class<?> getComponent() {
+		return component.rawType();
+	}
+
+	public Key<?> getDependencyKey() {
+		return dependency;
+	}
+
+	public Key<?> getComponentKey() {
 		return component;
 	}
 }
@@ -0,0 +1,52 @@
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+class IndexedProvider<T> implements ComponentProvider<T> {
+	private final Class<T> implementation;
+	private volatile ComponentProvider<T> provider;
+
+	IndexedProvider(Class<T> implementation) {
+		this.implementation = implementation;
+	}
+
+	private ComponentProvider<T> provider() {
+		ComponentProvider<T> provider = this.provider;
+		if (provider == null) this.provider = provider = Contextconfig.provider(implementation);
+		return provider;
+	}
+
+	boolean introspected() {
+		return provider != null;
+	}
+
+	@Override
+	public T get(Context context) {
+		return provider().get(context);
+	}
+
+	@Override
+	public T get(CompiledContext context, int[] dependencies) {
+		return provider().get(context, dependencies);
+	}
+
+	@Override
+	public T get(CompiledContext context, int[] dependencies, ResolutionMetrics metrics) {
+		return provider().get(context, dependencies, metrics);
+	}
+
+	@Override
+	public CompletableFuture<T> getAsync(CompiledContext context, int[] dependencies, Executor executor) {
+		return provider().getAsync(context, dependencies, executor);
+	}
+
+	@Override
+	public List<Class<?>> getDependency() {
+		return provider().getDependency();
+	}
+
+	@Override
+	public List<Key<?>> getDependencyKeys() {
+		return provider().getDependencyKeys();
+	}
+}
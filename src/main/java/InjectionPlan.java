@@ -0,0 +1,158 @@
+import java.io.*;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+class InjectionPlan {
+	private static final int MAGIC = 0x494e4a50;
+	private static final int VERSION = 2;
+	private static final int MAX_COUNT = 255;
+	private static final Map<String, Class<?>> PRIMITIVES = Map.of("boolean", boolean.class, "byte", byte.class, "char", char.class,
+		"short", short.class, "int", int.class, "long", long.class, "float", float.class, "double", double.class);
+
+	record Entry(Key<?> type, InjectionPoints<?> injectionPoints, Class<? extends Annotation> scope, boolean factory) {
+	}
+
+	static void write(List<Entry> entries, OutputStream stream) throws IOException {
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream));
+		out.writeInt(MAGIC);
+		out.writeInt(VERSION);
+		out.writeInt(entries.size());
+		for (Entry entry : entries) {
+			InjectionPoints<?> injectionPoints = entry.injectionPoints();
+			Class<?> implementation = injectionPoints.injectConstructor.getDeclaringClass();
+			writeKey(out, entry.type());
+			out.writeUTF(implementation.getName());
+			out.writeUTF(entry.scope() == null ? "" : entry.scope().getName());
+			out.writeLong(fingerprint(implementation));
+			out.writeBoolean(entry.factory());
+			writeTypes(out, injectionPoints.injectConstructor.getParameterTypes());
+			out.writeInt(injectionPoints.injectFields.size());
+			for (Field field : injectionPoints.injectFields) {
+				out.writeUTF(field.getDeclaringClass().getName());
+				out.writeUTF(field.getName());
+			}
+			out.writeInt(injectionPoints.injectMethods.size());
+			for (Method method : injectionPoints.injectMethods) {
+				out.writeUTF(method.getDeclaringClass().getName());
+				out.writeUTF(method.getName());
+				writeTypes(out, method.getParameterTypes());
+			}
+		}
+		out.flush();
+	}
+
+	static Optional<List<Entry>> read(InputStream stream, ClassLoader loader) throws IOException {
+		DataInputStream in = new DataInputStream(new BufferedInputStream(stream));
+		List<Entry> entries = new ArrayList<>();
+		try {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION) return Optional.empty();
+			for (int size = in.readInt(), i = 0; i < size; i++) {
+				Key<?> type = readKey(in, loader);
+				Class<?> implementation = type(in.readUTF(), loader);
+				String scope = in.readUTF();
+				long fingerprint = fingerprint(implementation);
+				if (fingerprint == 0 || in.readLong() != fingerprint || !type.rawType().isAssignableFrom(implementation)) return Optional.empty();
+				boolean factory = in.readBoolean();
+				Constructor<?> constructor = implementation.getDeclaredConstructor(readTypes(in, loader));
+				List<Field> fields = new ArrayList<>();
+				for (int count = in.readInt(); count > 0; count--)
+					fields.add(type(in.readUTF(), loader).getDeclaredField(in.readUTF()));
+				List<Method> methods = new ArrayList<>();
+				for (int count = in.readInt(); count > 0; count--) {
+					Class<?> declaring = type(in.readUTF(), loader);
+					methods.add(declaring.getDeclaredMethod(in.readUTF(), readTypes(in, loader)));
+				}
+				entries.add(new Entry(type, injectionPoints(implementation, constructor, fields, methods),
+					scope.isEmpty() ? null : type(scope, loader).asSubclass(Annotation.class), factory));
+			}
+		} catch (ReflectiveOperationException | ClassCastException | IllegalArgumentException | IllegalComponentException | NegativeArraySizeException | EOFException e) {
+			return Optional.empty();
+		}
+		return Optional.of(entries);
+	}
+
+	private static <T> InjectionPoints<T> injectionPoints(Class<T> implementation, Constructor<?> constructor, List<Field> fields, List<Method> methods) {
+		return new InjectionPoints<>(implementation, (Constructor<T>) constructor, List.copyOf(fields), List.copyOf(methods));
+	}
+
+	private static void writeKey(DataOutputStream out, Key<?> key) throws IOException {
+		writeType(out, key.type());
+		Annotation qualifier = key.qualifier().orElse(null);
+		out.writeUTF(qualifier == null ? "" : qualifier.annotationType().getName());
+		String value = qualifier == null ? null : Qualifiers.value(qualifier);
+		out.writeBoolean(value != null);
+		if (value != null) out.writeUTF(value);
+	}
+
+	private static Key<?> readKey(DataInputStream in, ClassLoader loader) throws IOException, ClassNotFoundException {
+		Type type = readType(in, loader);
+		String qualifier = in.readUTF();
+		String value = in.readBoolean() ? in.readUTF() : null;
+		return qualifier.isEmpty() ? Key.of(type) : Key.of(type, Qualifiers.of(type(qualifier, loader).asSubclass(Annotation.class), value));
+	}
+
+	private static void writeType(DataOutputStream out, Type type) throws IOException {
+		if (type instanceof ParameterizedType parameterized) {
+			out.writeBoolean(true);
+			out.writeUTF(((Class<?>) parameterized.getRawType()).getName());
+			Type[] arguments = parameterized.getActualTypeArguments();
+			out.writeInt(arguments.length);
+			for (Type argument : arguments) writeType(out, argument);
+		} else {
+			out.writeBoolean(false);
+			out.writeUTF(((Class<?>) type).getName());
+		}
+	}
+
+	private static Type readType(DataInputStream in, ClassLoader loader) throws IOException, ClassNotFoundException {
+		if (!in.readBoolean()) return type(in.readUTF(), loader);
+		Class<?> raw = type(in.readUTF(), loader);
+		Type[] arguments = new Type[readCount(in)];
+		for (int i = 0; i < arguments.length; i++) arguments[i] = readType(in, loader);
+		return Key.parameterized(raw, arguments);
+	}
+
+	private static void writeTypes(DataOutputStream out, Class<?>[] types) throws IOException {
+		out.writeInt(types.length);
+		for (Class<?> type : types) out.writeUTF(type.getName());
+	}
+
+	private static Class<?>[] readTypes(DataInputStream in, ClassLoader loader) throws IOException, ClassNotFoundException {
+		Class<?>[] types = new Class<?>[readCount(in)];
+		for (int i = 0; i < types.length; i++) types[i] = type(in.readUTF(), loader);
+		return types;
+	}
+
+	private static int readCount(DataInputStream in) throws IOException {
+		int count = in.readInt();
+		if (count < 0 || count > MAX_COUNT) throw new IllegalArgumentException("corrupt count " + count);
+		return count;
+	}
+
+	private static Class<?> type(String name, ClassLoader loader) throws ClassNotFoundException {
+		Class<?> primitive = PRIMITIVES.get(name);
+		return primitive != null ? primitive : Class.forName(name, false, loader);
+	}
+
+	private static long fingerprint(Class<?> implementation) throws IOException {
+		CRC32 crc = new CRC32();
+		for (Class<?> current = implementation; current != null && current != Object.class; current = current.getSuperclass()) {
+			ClassLoader loader = current.getClassLoader();
+			String resource = current.getName().replace('.', '/') + ".class";
+			try (InputStream bytes = loader == null ? ClassLoader.getSystemResourceAsStream(resource) : loader.getResourceAsStream(resource)) {
+				if (bytes == null) return 0;
+				crc.update(bytes.readAllBytes());
+			}
+		}
+		return crc.getValue() + 1;
+	}
+}
@@ -0,0 +1,190 @@
+import jakarta.inject.Inject;
+import jakarta.inject.Provider;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.*;
+import java.util.*;
+
+import static java.lang.invoke.MethodType.methodType;
+import static java.util.Arrays.stream;
+
+class InjectionPoints<T> {
+	private static final ClassValue<InjectionPoints<?>> cache = new ClassValue<>() {
+		@Override
+		protected InjectionPoints<?> computeValue(Class<?> type) {
+			return new InjectionPoints<>(type);
+		}
+	};
+
+	final Constructor<T> injectConstructor;
+	final List<Field> injectFields;
+	final List<Method> injectMethods;
+
+	final Class<?>[] constructorDependencies;
+	final boolean[] constructorProviders;
+	final Class<?>[] fieldDependencies;
+	final boolean[] fieldProviders;
+	final Class<?>[][] methodDependencies;
+	final boolean[][] methodProviders;
+	final boolean[] providers;
+	final List<Class<?>> dependencies;
+	final Key<?>[] constructorKeys;
+	final Key<?>[] fieldKeys;
+	final Key<?>[][] methodKeys;
+	final List<Key<?>> keys;
+
+	private final MethodHandle constructor;
+	private final MethodHandle[] fields;
+	private final MethodHandle[] methods;
+	private Invokers invokers;
+
+	static <T> InjectionPoints<T> of(Class<T> implementation) {
+		return (InjectionPoints<T>) cache.get(implementation);
+	}
+
+	InjectionPoints(Class<T> implementation) {
+		this(implementation, getInjectConstructor(implementation), getInjectFields(implementation), getInjectMethods(implementation));
+	}
+
+	InjectionPoints(Class<T> implementation, Constructor<T> injectConstructor, List<Field> injectFields, List<Method> injectMethods) {
+		if (Modifier.isAbstract(implementation.getModifiers())) throw new IllegalComponentException();
+		this.injectConstructor = injectConstructor;
+		this.injectFields = List.copyOf(injectFields);
+		this.injectMethods = List.copyOf(injectMethods);
+		if (injectFields.stream().anyMatch(field -> Modifier.isFinal(field.getModifiers()))) throw new IllegalComponentException();
+		if (injectMethods.stream().anyMatch(method -> method.getTypeParameters().length > 0)) throw new IllegalComponentException();
+
+		MethodHandles.Lookup lookup = MethodHandles.lookup();
+		try {
+			this.constructorDependencies = dependencies(injectConstructor.getGenericParameterTypes(), injectConstructor.getParameterTypes());
+			this.constructorProviders = providers(injectConstructor.getGenericParameterTypes());
+			this.constructor = lookup.unreflectConstructor(injectConstructor);
+			this.fieldDependencies = dependencies(injectFields.stream().map(Field::getGenericType).toArray(Type[]::new), injectFields.stream().map(Field::getType).toArray(Class<?>[]::new));
+			this.fieldProviders = providers(injectFields.stream().map(Field::getGenericType).toArray(Type[]::new));
+			this.fields = new MethodHandle[injectFields.size()];
+			for (int i = 0; i < fields.length; i++)
+				fields[i] = lookup.unreflectSetter(injectFields.get(i));
+			this.methodDependencies = injectMethods.stream().map(m -> dependencies(m.getGenericParameterTypes(), m.getParameterTypes())).toArray(Class<?>[][]::new);
+			this.methodProviders = injectMethods.stream().map(m -> providers(m.getGenericParameterTypes())).toArray(boolean[][]::new);
+			this.methods = new MethodHandle[injectMethods.size()];
+			for (int i = 0; i < methods.length; i++)
+				methods[i] = lookup.unreflect(injectMethods.get(i));
+		} catch (IllegalAccessException e) {
+			throw new IllegalComponentException();
+		}
+		List<Class<?>> dependencies = new ArrayList<>(List.of(fieldDependencies));
+		dependencies.addAll(List.of(constructorDependencies));
+		for (Class<?>[] methodDependency : methodDependencies) dependencies.addAll(List.of(methodDependency));
+		this.dependencies = List.copyOf(dependencies);
+		this.providers = new boolean[dependencies.size()];
+		int offset = 0;
+		for (boolean[] points : List.of(fieldProviders, constructorProviders)) {
+			System.arraycopy(points, 0, providers, offset, points.length);
+			offset += points.length;
+		}
+		for (boolean[] points : methodProviders) {
+			System.arraycopy(points, 0, providers, offset, points.length);
+			offset += points.length;
+		}
+
+		this.constructorKeys = keys(injectConstructor);
+		this.fieldKeys = injectFields.stream().map(f -> key(f.getGenericType(), f.getAnnotations())).toArray(Key<?>[]::new);
+		this.methodKeys = injectMethods.stream().map(InjectionPoints::keys).toArray(Key<?>[][]::new);
+		List<Key<?>> keys = new ArrayList<>(List.of(fieldKeys));
+		keys.addAll(List.of(constructorKeys));
+		for (Key<?>[] methodKey : methodKeys) keys.addAll(List.of(methodKey));
+		this.keys = List.copyOf(keys);
+	}
+
+	Invokers invokers() {
+		Invokers invokers = this.invokers;
+		if (invokers == null) this.invokers = invokers = new Invokers(
+			constructor.asSpreader(Object[].class, constructorDependencies.length).asType(methodType(Object.class, Object[].class)),
+			stream(fields).map(f -> f.asType(methodType(void.class, Object.class, Object.class))).toArray(MethodHandle[]::new),
+			stream(methods).map(m -> m.asSpreader(Object[].class, m.type().parameterCount() - 1).asType(methodType(void.class, Object.class, Object[].class))).toArray(MethodHandle[]::new));
+		return invokers;
+	}
+
+	record Invokers(MethodHandle constructor, MethodHandle[] fields, MethodHandle[] methods) {
+	}
+
+	private static Class<?>[] dependencies(Type[] types, Class<?>[] erasures) {
+		Class<?>[] dependencies = new Class<?>[types.length];
+		for (int i = 0; i < types.length; i++) dependencies[i] = dependency(types[i], erasures[i]);
+		return dependencies;
+	}
+
+	private static Class<?> dependency(Type type, Class<?> erasure) {
+		if (erasure != Provider.class) return erasure;
+		if (!(type instanceof ParameterizedType parameterized)) throw new IllegalComponentException();
+		Type component = parameterized.getActualTypeArguments()[0];
+		if (component instanceof Class<?> componentClass) return componentClass;
+		if (component instanceof ParameterizedType componentType) return (Class<?>) componentType.getRawType();
+		throw new IllegalComponentException();
+	}
+
+	private static Key<?>[] keys(Executable executable) {
+		Type[] types = executable.getGenericParameterTypes();
+		Annotation[][] annotations = executable.getParameterAnnotations();
+		int offset = types.length - annotations.length;
+		Key<?>[] keys = new Key<?>[types.length];
+		for (int i = 0; i < types.length; i++) keys[i] = key(types[i], i < offset ? new Annotation[0] : annotations[i - offset]);
+		return keys;
+	}
+
+	private static Key<?> key(Type type, Annotation[] annotations) {
+		if (type instanceof ParameterizedType parameterized && parameterized.getRawType() == Provider.class)
+			return Key.injectionPoint(parameterized.getActualTypeArguments()[0], annotations);
+		return Key.injectionPoint(type, annotations);
+	}
+
+	private static boolean[] providers(Type[] types) {
+		boolean[] providers = new boolean[types.length];
+		for (int i = 0; i < types.length; i++)
+			providers[i] = types[i] instanceof ParameterizedType parameterized && parameterized.getRawType() == Provider.class;
+		return providers;
+	}
+
+	static List<Method> getInjectMethods(Class<?> implementation) {
+		List<Method> injectMethods = new ArrayList<>();
+		Set<Signature> overridden = new HashSet<>();
+		Class<?> current = implementation;
+		while (current != Object.class) {
+			for (Method method : current.getDeclaredMethods())
+				if (overridden.add(new Signature(method)) && method.isAnnotationPresent(Inject.class)) injectMethods.add(method);
+			current = current.getSuperclass();
+		}
+		Collections.reverse(injectMethods);
+		return injectMethods;
+	}
+
+	private static List<Field> getInjectFields(Class<?> implementation) {
+		List<Field> injectFields = new ArrayList<>();
+		Class<?> current = implementation;
+		while (current != Object.class) {
+			injectFields.addAll(stream(current.getDeclaredFields()).filter(f -> f.isAnnotationPresent(Inject.class)).toList());
+			current = current.getSuperclass();
+		}
+		return injectFields;
+	}
+
+	private static <T> Constructor<T> getInjectConstructor(Class<T> implementation) {
+		List<Constructor<?>> constructors = stream(implementation.getConstructors()).filter(c -> c.isAnnotationPresent(Inject.class)).toList();
+		if (constructors.size() > 1) throw new IllegalComponentException();
+		return (Constructor<T>) constructors.stream().findFirst().orElseGet(() -> {
+			try {
+				return implementation.getDeclaredConstructor();
+			} catch (NoSuchMethodException e) {
+				throw new IllegalComponentException();
+			}
+		});
+	}
+
+	private record Signature(String name, List<Class<?>> parameterTypes) {
+		Signature(Method method) {
+			this(method.getName(), List.of(method.getParameterTypes()));
+		}
+	}
+}
@@ -0,0 +1,36 @@
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+final class InstanceProvider<T> implements ComponentProvider<T> {
+	private final T instance;
+
+	InstanceProvider(T instance) {
+		this.instance = instance;
+	}
+
+	@Override
+	public T get(Context context) {
+		return instance;
+	}
+
+	@Override
+	public T get(CompiledContext context, int[] dependencies) {
+		return instance;
+	}
+
+	@Override
+	public CompletableFuture<T> getAsync(CompiledContext context, int[] dependencies, Executor executor) {
+		return CompletableFuture.completedFuture(instance);
+	}
+
+	@Override
+	public List<Class<?>> getDependency() {
+		return List.of();
+	}
+
+	@Override
+	public List<Key<?>> getDependencyKeys() {
+		return List.of();
+	}
+}
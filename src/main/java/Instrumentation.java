@@ -0,0 +1,23 @@
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class Instrumentation {
+	private final Map<Key<?>, ResolutionMetrics> metrics = new ConcurrentHashMap<>();
+
+	public Optional<ResolutionMetrics> metrics(Class<?> type) {
+		return metrics(Key.of(type));
+	}
+
+	public Optional<ResolutionMetrics> metrics(Key<?> key) {
+		return Optional.ofNullable(metrics.get(key));
+	}
+
+	public Map<Key<?>, ResolutionMetrics> metrics() {
+		return Map.copyOf(metrics);
+	}
+
+	ResolutionMetrics register(Key<?> key) {
+		return metrics.computeIfAbsent(key, k -> new ResolutionMetrics());
+	}
+}
@@ -0,0 +1,66 @@
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+class InstrumentedProvider<T> implements ComponentProvider<T> {
+	private final Class<?> type;
+	private final ComponentProvider<T> provider;
+	private final ResolutionMetrics metrics;
+
+	InstrumentedProvider(Class<?> type, ComponentProvider<T> provider, ResolutionMetrics metrics) {
+		this.type = type;
+		this.provider = provider;
+		this.metrics = metrics;
+	}
+
+	@Override
+	public T get(Context context) {
+		ResolutionEvent event = new ResolutionEvent();
+		event.begin();
+		long start = System.nanoTime();
+		try {
+			return provider.get(context);
+		} finally {
+			record(event, start);
+		}
+	}
+
+	@Override
+	public T get(CompiledContext context, int[] dependencies) {
+		ResolutionEvent event = new ResolutionEvent();
+		event.begin();
+		long start = System.nanoTime();
+		try {
+			return provider.get(context, dependencies, metrics);
+		} finally {
+			record(event, start);
+		}
+	}
+
+	@Override
+	public CompletableFuture<T> getAsync(CompiledContext context, int[] dependencies, Executor executor) {
+		ResolutionEvent event = new ResolutionEvent();
+		event.begin();
+		long start = System.nanoTime();
+		return provider.getAsync(context, dependencies, executor).whenComplete((instance, e) -> record(event, start));
+	}
+
+	private void record(ResolutionEvent event, long start) {
+		metrics.record(System.nanoTime() - start);
+		event.end();
+		if (event.shouldCommit()) {
+			event.component = type;
+			event.commit();
+		}
+	}
+
+	@Override
+	public List<Class<?>> getDependency() {
+		return provider.getDependency();
+	}
+
+	@Override
+	public List<Key<?>> getDependencyKeys() {
+		return provider.getDependencyKeys();
+	}
+}
@@ -0,0 +1,170 @@
+import jakarta.inject.Named;
+import jakarta.inject.Qualifier;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.*;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static java.util.Arrays.stream;
+
+public final class Key<T> {
+	private static final ClassValue<Key<?>> CLASSES = new ClassValue<>() {
+		@Override
+		protected Key<?> computeValue(Class<?> type) {
+			return new Key<>(type, null, null);
+		}
+	};
+	private static final ClassValue<ConcurrentHashMap<Shape, Key<?>>> INTERNED = new ClassValue<>() {
+		@Override
+		protected ConcurrentHashMap<Shape, Key<?>> computeValue(Class<?> type) {
+			return new ConcurrentHashMap<>();
+		}
+	};
+
+	private final Type type;
+	private final Annotation qualifier;
+	private final Class<T> rawType;
+	private final Key<T> erased;
+
+	private Key(Type type, Annotation qualifier, Key<T> erased) {
+		this.type = type;
+		this.qualifier = qualifier;
+		this.rawType = (Class<T>) raw(type);
+		this.erased = erased;
+	}
+
+	public static <T> Key<T> of(Class<T> type) {
+		return (Key<T>) CLASSES.get(type);
+	}
+
+	public static <T> Key<T> of(Class<T> type, Annotation qualifier) {
+		return (Key<T>) of((Type) type, qualifier);
+	}
+
+	public static <T> Key<T> named(Class<T> type, String name) {
+		return of(type, Qualifiers.of(Named.class, name));
+	}
+
+	public static Key<?> of(Type type) {
+		return of(type, null);
+	}
+
+	public static Key<?> of(Type type, Annotation qualifier) {
+		if (qualifier != null && !qualifier.annotationType().isAnnotationPresent(Qualifier.class)) throw new IllegalComponentException();
+		if (qualifier == null && type instanceof Class<?> component) return of(component);
+		return intern(canonical(type), qualifier);
+	}
+
+	public static ParameterizedType parameterized(Class<?> raw, Type... arguments) {
+		if (raw.getTypeParameters().length != arguments.length) throw new IllegalArgumentException();
+		return new Parameterized(raw, raw.getDeclaringClass(), stream(arguments).map(Key::canonical).toArray(Type[]::new));
+	}
+
+	static Key<?> injectionPoint(Type type, Annotation[] annotations) {
+		Annotation[] qualifiers = stream(annotations).filter(a -> a.annotationType().isAnnotationPresent(Qualifier.class)).toArray(Annotation[]::new);
+		if (qualifiers.length > 1) throw new IllegalComponentException();
+		return of(bindable(type) ? type : raw(type), qualifiers.length == 0 ? null : qualifiers[0]);
+	}
+
+	private static Key<?> intern(Type type, Annotation qualifier) {
+		Key<?> erased = qualifier == null && type instanceof ParameterizedType ? of(raw(type)) : null;
+		return INTERNED.get(raw(type)).computeIfAbsent(new Shape(type, qualifier), shape -> new Key<>(shape.type(), shape.qualifier(), (Key) erased));
+	}
+
+	public Type type() {
+		return type;
+	}
+
+	public Optional<Annotation> qualifier() {
+		return Optional.ofNullable(qualifier);
+	}
+
+	public Class<T> rawType() {
+		return rawType;
+	}
+
+	boolean isClass() {
+		return qualifier == null && type instanceof Class<?>;
+	}
+
+	Key<T> erased() {
+		return erased;
+	}
+
+	String simpleName() {
+		return isClass() ? rawType.getSimpleName() : toString();
+	}
+
+	@Override
+	public String toString() {
+		if (qualifier == null) return type.getTypeName();
+		return "@" + qualifier.annotationType().getSimpleName() + (qualifier instanceof Named named ? "(\"" + named.value() + "\")" : "") + " " + type.getTypeName();
+	}
+
+	private static boolean bindable(Type type) {
+		if (type instanceof Class<?>) return true;
+		return type instanceof ParameterizedType parameterized && stream(parameterized.getActualTypeArguments()).allMatch(Key::bindable);
+	}
+
+	private static Type canonical(Type type) {
+		if (type instanceof Class<?>) return type;
+		if (type instanceof ParameterizedType parameterized && bindable(type))
+			return new Parameterized(raw(type), parameterized.getOwnerType() == null ? null : canonical(parameterized.getOwnerType()),
+				stream(parameterized.getActualTypeArguments()).map(Key::canonical).toArray(Type[]::new));
+		throw new IllegalComponentException();
+	}
+
+	static Class<?> raw(Type type) {
+		if (type instanceof Class<?> component) return component;
+		if (type instanceof ParameterizedType parameterized) return (Class<?>) parameterized.getRawType();
+		if (type instanceof GenericArrayType array) return Array.newInstance(raw(array.getGenericComponentType()), 0).getClass();
+		if (type instanceof TypeVariable<?> variable) return raw(variable.getBounds()[0]);
+		if (type instanceof WildcardType wildcard) return raw(wildcard.getUpperBounds()[0]);
+		throw new IllegalComponentException();
+	}
+
+	private record Shape(Type type, Annotation qualifier) {
+	}
+
+	private record Parameterized(Class<?> raw, Type owner, Type[] arguments) implements ParameterizedType {
+		@Override
+		public Type[] getActualTypeArguments() {
+			return arguments.clone();
+		}
+
+		@Override
+		public Type getRawType() {
+			return raw;
+		}
+
+		@Override
+		public Type getOwnerType() {
+			return owner;
+		}
+
+		@Override
+		public String getTypeName() {
+			return raw.getName() + stream(arguments).map(Type::getTypeName).collect(Collectors.joining(", ", "<", ">"));
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			return other instanceof ParameterizedType type && raw.equals(type.getRawType()) && Objects.equals(owner, type.getOwnerType())
+				&& Arrays.equals(arguments, type.getActualTypeArguments());
+		}
+
+		@Override
+		public int hashCode() {
+			return Arrays.hashCode(arguments) ^ Objects.hashCode(owner) ^ raw.hashCode();
+		}
+
+		@Override
+		public String toString() {
+			return getTypeName();
+		}
+	}
+}
@@ -0,0 +1,24 @@
+import java.util.function.Consumer;
+
+public final class Lease<T> implements AutoCloseable {
+	private final T instance;
+	private final Consumer<T> release;
+	private boolean released;
+
+	Lease(T instance, Consumer<T> release) {
+		this.instance = instance;
+		this.release = release;
+	}
+
+	public T get() {
+		if (released) throw new IllegalStateException();
+		return instance;
+	}
+
+	@Override
+	public void close() {
+		if (released) return;
+		released = true;
+		release.accept(instance);
+	}
+}
@@ -0,0 +1,84 @@
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+class PooledProvider<T> implements ComponentProvider<T> {
+	static final int CAPACITY = 64;
+	private static final long SPREAD = 0x9e3779b97f4a7c15L;
+
+	private final ComponentProvider<T> provider;
+	private final AtomicReferenceArray<T> pool;
+	private final Consumer<? super T> reset;
+	private final PoolMetrics metrics = new PoolMetrics();
+
+	public PooledProvider(ComponentProvider<T> provider) {
+		this(provider, CAPACITY, instance -> {
+		});
+	}
+
+	PooledProvider(ComponentProvider<T> provider, int capacity, Consumer<? super T> reset) {
+		this.provider = provider;
+		this.pool = new AtomicReferenceArray<>(capacity);
+		this.reset = reset;
+	}
+
+	@Override
+	public T get(Context context) {
+		T pooled = take();
+		return pooled != null ? pooled : provider.get(context);
+	}
+
+	@Override
+	public T get(CompiledContext context, int[] dependencies) {
+		T pooled = take();
+		return pooled != null ? pooled : provider.get(context, dependencies);
+	}
+
+	@Override
+	public T get(CompiledContext context, int[] dependencies, ResolutionMetrics metrics) {
+		T pooled = take();
+		return pooled != null ? pooled : provider.get(context, dependencies, metrics);
+	}
+
+	void release(T instance) {
+		reset.accept(instance);
+		int stripe = stripe();
+		for (int i = 0; i < pool.length(); i++) {
+			int index = (stripe + i) % pool.length();
+			if (pool.get(index) == null && pool.compareAndSet(index, null, instance)) return;
+		}
+		metrics.evict();
+	}
+
+	PoolMetrics metrics() {
+		return metrics;
+	}
+
+	private T take() {
+		int stripe = stripe();
+		for (int i = 0; i < pool.length(); i++) {
+			int index = (stripe + i) % pool.length();
+			T instance = pool.get(index);
+			if (instance != null && pool.compareAndSet(index, instance, null)) {
+				metrics.hit();
+				return instance;
+			}
+		}
+		metrics.miss();
+		return null;
+	}
+
+	private int stripe() {
+		return (int) ((Thread.currentThread().getId() * SPREAD) >>> 33) % pool.length();
+	}
+
+	@Override
+	public List<Class<?>> getDependency() {
+		return provider.getDependency();
+	}
+
+	@Override
+	public List<Key<?>> getDependencyKeys() {
+		return provider.getDependencyKeys();
+	}
+}
@@ -0,0 +1,33 @@
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Objects;
+
+class Qualifiers {
+	static <A extends Annotation> A of(Class<A> type, String value) {
+		Method[] members = type.getDeclaredMethods();
+		if (members.length > 1 || members.length == 1 && (members[0].getReturnType() != String.class || !members[0].getName().equals("value")))
+			throw new IllegalComponentException();
+		if (members.length == 0 && value != null) throw new IllegalComponentException();
+		return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, arguments) -> switch (method.getName()) {
+			case "annotationType" -> type;
+			case "value" -> value;
+			case "hashCode" -> value == null ? 0 : 127 * "value".hashCode() ^ value.hashCode();
+			case "equals" -> type.isInstance(arguments[0]) && (value == null || Objects.equals(value, type.getMethod("value").invoke(arguments[0])));
+			case "toString" -> "@" + type.getName() + (value == null ? "" : "(\"" + value + "\")");
+			default -> throw new UnsupportedOperationException(method.getName());
+		}));
+	}
+
+	static String value(Annotation qualifier) {
+		Method[] members = qualifier.annotationType().getDeclaredMethods();
+		if (members.length == 0) return null;
+		if (members.length > 1 || members[0].getReturnType() != String.class || !members[0].getName().equals("value"))
+			throw new IllegalComponentException();
+		try {
+			return (String) members[0].invoke(qualifier);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalComponentException();
+		}
+	}
+}
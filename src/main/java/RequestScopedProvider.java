@@ -0,0 +1,42 @@
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+class RequestScopedProvider<T> implements ComponentProvider<T> {
+	private final ComponentProvider<T> provider;
+
+	public RequestScopedProvider(ComponentProvider<T> provider) {
+		this.provider = provider;
+	}
+
+	@Override
+	public T get(Context context) {
+		if (context instanceof CompiledContext compiled) return compiled.requestScoped(this, provider).get(context);
+		return provider.get(context);
+	}
+
+	@Override
+	public T get(CompiledContext context, int[] dependencies) {
+		return context.requestScoped(this, provider).get(context, dependencies);
+	}
+
+	@Override
+	public T get(CompiledContext context, int[] dependencies, ResolutionMetrics metrics) {
+		return context.requestScoped(this, provider).get(context, dependencies, metrics);
+	}
+
+	@Override
+	public CompletableFuture<T> getAsync(CompiledContext context, int[] dependencies, Executor executor) {
+		return context.requestScoped(this, provider).getAsync(context, dependencies, executor);
+	}
+
+	@Override
+	public List<Class<?>> getDependency() {
+		return provider.getDependency();
+	}
+
+	@Override
+	public List<Key<?>> getDependencyKeys() {
+		return provider.getDependencyKeys();
+	}
+}
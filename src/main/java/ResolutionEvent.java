@@ -0,0 +1,11 @@
+import jdk.jfr.*;
+
+@Name("container.ComponentResolution")
+@Label("Component Resolution")
+@Category("Dependency Injection")
+@Threshold("10 ms")
+@StackTrace(false)
+class ResolutionEvent extends Event {
+	@Label("Component")
+	Class<?> component;
+}
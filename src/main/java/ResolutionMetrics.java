@@ -0,0 +1,76 @@
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+public class ResolutionMetrics {
+	private static final int SUB_BUCKET_BITS = 3;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+	private final LongAdder count = new LongAdder();
+	private final LongAdder total = new LongAdder();
+	private final LongAdder constructor = new LongAdder();
+	private final LongAdder fields = new LongAdder();
+	private final LongAdder methods = new LongAdder();
+	private final AtomicLongArray histogram = new AtomicLongArray(Long.SIZE * SUB_BUCKETS);
+
+	void record(long nanos) {
+		count.increment();
+		total.add(nanos);
+		histogram.incrementAndGet(bucket(nanos));
+	}
+
+	void phases(long constructor, long fields, long methods) {
+		this.constructor.add(constructor);
+		this.fields.add(fields);
+		this.methods.add(methods);
+	}
+
+	public long count() {
+		return count.sum();
+	}
+
+	public Duration total() {
+		return Duration.ofNanos(total.sum());
+	}
+
+	public Duration p99() {
+		return percentile(0.99);
+	}
+
+	public Duration percentile(double percentile) {
+		long[] counts = new long[histogram.length()];
+		long recorded = 0;
+		for (int i = 0; i < counts.length; i++) recorded += counts[i] = histogram.get(i);
+		long rank = (long) Math.ceil(percentile * recorded);
+		long seen = 0;
+		for (int i = 0; i < counts.length; i++)
+			if ((seen += counts[i]) >= rank && counts[i] > 0) return Duration.ofNanos(upperBound(i));
+		return Duration.ZERO;
+	}
+
+	public Duration constructor() {
+		return Duration.ofNanos(constructor.sum());
+	}
+
+	public Duration fields() {
+		return Duration.ofNanos(fields.sum());
+	}
+
+	public Duration methods() {
+		return Duration.ofNanos(methods.sum());
+	}
+
+	private static int bucket(long nanos) {
+		if (nanos < SUB_BUCKETS) return (int) Math.max(nanos, 0);
+		int magnitude = Long.SIZE - 1 - Long.numberOfLeadingZeros(nanos);
+		int shift = magnitude - SUB_BUCKET_BITS;
+		return (shift + 1) * SUB_BUCKETS + (int) ((nanos >>> shift) & (SUB_BUCKETS - 1));
+	}
+
+	private static long upperBound(int bucket) {
+		if (bucket < SUB_BUCKETS) return bucket;
+		int shift = bucket / SUB_BUCKETS - 1;
+		long base = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+		return base + (1L << shift) - 1;
+	}
+}
@@ -0,0 +1,3 @@
+interface ScopeProvider {
+	ComponentProvider<?> create(ComponentProvider<?> provider);
+}
@@ -0,0 +1,19 @@
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+public class ShutdownException extends RuntimeException {
+	private final Map<Key<?>, Throwable> failures;
+
+	public ShutdownException(Map<Key<?>, Throwable> failures) {
+		super(failures.entrySet().stream()
+			.map(e -> (e.getValue() instanceof TimeoutException ? "timed out closing " : "failed to close ") + e.getKey())
+			.sorted().collect(Collectors.joining("\n")));
+		failures.values().forEach(this::addSuppressed);
+		this.failures = Map.copyOf(failures);
+	}
+
+	public Map<Key<?>, Throwable> getFailures() {
+		return failures;
+	}
+}
@@ -0,0 +1,115 @@
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+class SingletonProvider<T> implements ComponentProvider<T> {
+	private static final VarHandle INITIALIZATION;
+
+	static {
+		try {
+			INITIALIZATION = MethodHandles.lookup().findVarHandle(SingletonProvider.class, "initialization", CompletableFuture.class);
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	private final ComponentProvider<T> provider;
+	private volatile CompletableFuture<T> initialization;
+	private volatile T instance;
+
+	public SingletonProvider(ComponentProvider<T> provider) {
+		this.provider = provider;
+	}
+
+	@Override
+	public T get(Context context) {
+		T singleton = instance;
+		if (singleton != null) return singleton;
+		return initialize(() -> provider.get(context));
+	}
+
+	@Override
+	public T get(CompiledContext context, int[] dependencies) {
+		T singleton = instance;
+		if (singleton != null) return singleton;
+		return initialize(() -> provider.get(context, dependencies));
+	}
+
+	@Override
+	public T get(CompiledContext context, int[] dependencies, ResolutionMetrics metrics) {
+		T singleton = instance;
+		if (singleton != null) return singleton;
+		return initialize(() -> provider.get(context, dependencies, metrics));
+	}
+
+	@Override
+	public CompletableFuture<T> getAsync(CompiledContext context, int[] dependencies, Executor executor) {
+		T singleton = instance;
+		if (singleton != null) return CompletableFuture.completedFuture(singleton);
+		CompletableFuture<T> task = initialization;
+		if (task != null) return task.copy();
+		CompletableFuture<T> created = new CompletableFuture<>();
+		if (!INITIALIZATION.compareAndSet(this, null, created)) return getAsync(context, dependencies, executor);
+		provider.getAsync(context, dependencies, executor).whenComplete((component, e) -> complete(created, component, e));
+		return created.copy();
+	}
+
+	private void complete(CompletableFuture<T> task, T component, Throwable failure) {
+		if (failure == null) {
+			instance = component;
+			task.complete(component);
+			return;
+		}
+		INITIALIZATION.compareAndSet(this, task, null);
+		task.completeExceptionally(failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure);
+	}
+
+	T instance() {
+		return instance;
+	}
+
+	T release() {
+		CompletableFuture<T> task = initialization;
+		T singleton = instance;
+		if (singleton == null || !INITIALIZATION.compareAndSet(this, task, null)) return null;
+		if (instance == singleton) instance = null;
+		return singleton;
+	}
+
+	private T initialize(Supplier<T> factory) {
+		while (true) {
+			CompletableFuture<T> task = initialization;
+			if (task == null) {
+				CompletableFuture<T> created = new CompletableFuture<>();
+				if (!INITIALIZATION.compareAndSet(this, null, created)) continue;
+				try {
+					T component = factory.get();
+					complete(created, component, null);
+					return component;
+				} catch (RuntimeException | Error e) {
+					complete(created, null, e);
+					throw e;
+				}
+			}
+			try {
+				return task.join();
+			} catch (CompletionException e) {
+				if (e.getCause() instanceof RuntimeException exception) throw exception;
+				if (e.getCause() instanceof Error error) throw error;
+				throw new RuntimeException(e.getCause());
+			}
+		}
+	}
+
+	@Override
+	public List<Class<?>> getDependency() {
+		return provider.getDependency();
+	}
+
+	@Override
+	public List<Key<?>> getDependencyKeys() {
+		return provider.getDependencyKeys();
+	}
+}
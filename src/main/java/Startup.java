@@ -0,0 +1,4 @@
+import java.time.Duration;
+
+public record Startup(Context context, Duration wallClock, Duration sequential) {
+}
@@ -0,0 +1,71 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+public final class ThreadConfinement implements AutoCloseable {
+	private static final ThreadLocal<ThreadConfinement> CURRENT = new ThreadLocal<>();
+
+	private final Map<ThreadScopedProvider<?>, Object> instances = new WeakHashMap<>();
+	private final Thread owner = Thread.currentThread();
+	private final ThreadConfinement enclosing;
+	private final boolean implicit;
+	private boolean closed;
+
+	private ThreadConfinement(ThreadConfinement enclosing, boolean implicit) {
+		this.enclosing = enclosing;
+		this.implicit = implicit;
+	}
+
+	public static ThreadConfinement open() {
+		ThreadConfinement confinement = new ThreadConfinement(CURRENT.get(), false);
+		CURRENT.set(confinement);
+		return confinement;
+	}
+
+	public static void release() {
+		ThreadConfinement current = CURRENT.get();
+		if (current == null || !current.implicit) return;
+		CURRENT.remove();
+		current.clear();
+	}
+
+	static ThreadConfinement current() {
+		ThreadConfinement current = CURRENT.get();
+		if (current != null || VirtualThreads.isVirtual(Thread.currentThread())) return current;
+		CURRENT.set(current = new ThreadConfinement(null, true));
+		return current;
+	}
+
+	<T> T get(ThreadScopedProvider<T> provider) {
+		return (T) instances.get(provider);
+	}
+
+	<T> void put(ThreadScopedProvider<T> provider, T instance) {
+		instances.put(provider, instance);
+	}
+
+	@Override
+	public void close() {
+		if (closed || implicit) return;
+		if (owner != Thread.currentThread() || CURRENT.get() != this) throw new IllegalStateException();
+		closed = true;
+		if (enclosing == null) CURRENT.remove();
+		else CURRENT.set(enclosing);
+		clear();
+	}
+
+	private void clear() {
+		List<Map.Entry<ThreadScopedProvider<?>, Object>> confined = new ArrayList<>(instances.entrySet());
+		instances.clear();
+		RuntimeException failure = null;
+		for (Map.Entry<ThreadScopedProvider<?>, Object> entry : confined)
+			try {
+				entry.getKey().cleanup(entry.getValue());
+			} catch (RuntimeException e) {
+				if (failure == null) failure = e;
+				else failure.addSuppressed(e);
+			}
+		if (failure != null) throw failure;
+	}
+}
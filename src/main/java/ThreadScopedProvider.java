@@ -0,0 +1,55 @@
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+class ThreadScopedProvider<T> implements ComponentProvider<T> {
+	private final ComponentProvider<T> provider;
+	private final Consumer<? super T> cleanup;
+
+	public ThreadScopedProvider(ComponentProvider<T> provider) {
+		this(provider, instance -> {
+		});
+	}
+
+	ThreadScopedProvider(ComponentProvider<T> provider, Consumer<? super T> cleanup) {
+		this.provider = provider;
+		this.cleanup = cleanup;
+	}
+
+	@Override
+	public T get(Context context) {
+		return confined(() -> provider.get(context));
+	}
+
+	@Override
+	public T get(CompiledContext context, int[] dependencies) {
+		return confined(() -> provider.get(context, dependencies));
+	}
+
+	@Override
+	public T get(CompiledContext context, int[] dependencies, ResolutionMetrics metrics) {
+		return confined(() -> provider.get(context, dependencies, metrics));
+	}
+
+	private T confined(Supplier<T> create) {
+		ThreadConfinement confinement = ThreadConfinement.current();
+		if (confinement == null) return create.get();
+		T instance = confinement.get(this);
+		if (instance == null) confinement.put(this, instance = create.get());
+		return instance;
+	}
+
+	void cleanup(Object instance) {
+		cleanup.accept((T) instance);
+	}
+
+	@Override
+	public List<Class<?>> getDependency() {
+		return provider.getDependency();
+	}
+
+	@Override
+	public List<Key<?>> getDependencyKeys() {
+		return provider.getDependencyKeys();
+	}
+}
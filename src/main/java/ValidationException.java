@@ -0,0 +1,25 @@
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class ValidationException extends RuntimeException {
+	private final List<DependencyNotFoundException> missing;
+	private final List<CyclicDependencyException> cycles;
+
+	public ValidationException(List<DependencyNotFoundException> missing, List<CyclicDependencyException> cycles) {
+		super(Stream.concat(
+			missing.stream().map(e -> "missing " + e.getDependencyKey() + " required by " + e.getComponentKey()),
+			cycles.stream().map(e -> "cycle " + e.getPath().stream().map(Class::getName).collect(Collectors.joining(" -> ")) + " -> " + e.getPath().get(0).getName())
+		).collect(Collectors.joining("\n")));
+		this.missing = List.copyOf(missing);
+		this.cycles = List.copyOf(cycles);
+	}
+
+	public List<DependencyNotFoundException> getMissing() {
+		return missing;
+	}
+
+	public List<CyclicDependencyException> getCycles() {
+		return cycles;
+	}
+}
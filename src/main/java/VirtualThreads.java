@@ -0,0 +1,43 @@
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+import static java.lang.invoke.MethodType.methodType;
+
+final class VirtualThreads {
+	static final Executor EXECUTOR = executor();
+	private static final MethodHandle IS_VIRTUAL = isVirtual();
+
+	private VirtualThreads() {
+	}
+
+	static boolean isVirtual(Thread thread) {
+		if (IS_VIRTUAL == null) return false;
+		try {
+			return (boolean) IS_VIRTUAL.invokeExact(thread);
+		} catch (Throwable e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static MethodHandle isVirtual() {
+		try {
+			return MethodHandles.publicLookup().findVirtual(Thread.class, "isVirtual", methodType(boolean.class));
+		} catch (ReflectiveOperationException e) {
+			return null;
+		}
+	}
+
+	private static Executor executor() {
+		try {
+			return (Executor) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (ReflectiveOperationException | UnsupportedOperationException e) {
+			return Executors.newCachedThreadPool(task -> {
+				Thread thread = new Thread(task, "component-resolution");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+	}
+}
@@ -0,0 +1,287 @@
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class ConcurrencyTest {
+	private static final int THREADS = 64;
+	private static final int TASKS = 256;
+	private static final int ROUNDS = 20;
+
+	private Contextconfig contextconfig;
+	private Instances instances;
+
+	@BeforeEach
+	void setUp() {
+		contextconfig = new Contextconfig();
+		instances = new Instances();
+		contextconfig.bind(Instances.class, instances);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"platform", "virtual"})
+	public void should_inject_every_point_under_concurrent_resolution(String threads) throws Exception {
+		contextconfig.bind(FullyInjectedComponent.class, FullyInjectedComponent.class);
+		Context context = contextconfig.getContext();
+		List<FullyInjectedComponent> components = race(threads, () -> context.get(FullyInjectedComponent.class).get());
+		for (FullyInjectedComponent component : components) {
+			assertSame(instances, component.constructorInjected);
+			assertSame(instances, component.fieldInjected);
+			assertSame(instances, component.methodInjected);
+		}
+		assertEquals(TASKS, new HashSet<>(components).size());
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"platform", "virtual"})
+	public void should_create_singleton_once_under_concurrent_first_access(String threads) throws Exception {
+		contextconfig.bind(CountedSingleton.class, CountedSingleton.class);
+		for (int round = 0; round < ROUNDS; round++) {
+			instances.created.set(0);
+			Context context = contextconfig.getContext();
+			List<CountedSingleton> singletons = race(threads, () -> context.get(CountedSingleton.class).get());
+			assertEquals(1, new HashSet<>(singletons).size());
+			assertEquals(1, instances.created.get());
+			contextconfig.bind(CountedSingleton.class, CountedSingleton.class);
+		}
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"platform", "virtual"})
+	public void should_build_cached_instance_once_under_concurrent_miss(String threads) throws Exception {
+		contextconfig.bind(CountedSingleton.class, CountedSingleton.class, CacheScoped.class);
+		Context context = contextconfig.getContext();
+		List<CountedSingleton> cached = race(threads, () -> context.get(CountedSingleton.class).get());
+		assertEquals(1, new HashSet<>(cached).size());
+		assertEquals(1, instances.created.get());
+		assertEquals(1, contextconfig.cacheMetrics(CountedSingleton.class).get().misses());
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"platform", "virtual"})
+	public void should_create_singleton_once_across_sync_and_async_resolution(String threads) throws Exception {
+		contextconfig.bind(CountedSingleton.class, CountedSingleton.class);
+		contextconfig.bind(SingletonConsumer.class, SingletonConsumer.class);
+		for (int round = 0; round < ROUNDS; round++) {
+			instances.created.set(0);
+			Context context = contextconfig.getContext();
+			AtomicInteger next = new AtomicInteger();
+			List<CountedSingleton> singletons = race(threads, () -> next.getAndIncrement() % 2 == 0
+				? context.get(SingletonConsumer.class).get().singleton
+				: context.getAsync(SingletonConsumer.class).get(10, SECONDS).singleton);
+			assertEquals(1, new HashSet<>(singletons).size());
+			assertEquals(1, instances.created.get());
+			contextconfig.bind(CountedSingleton.class, CountedSingleton.class);
+		}
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"platform", "virtual"})
+	public void should_share_singleton_dependency_of_transient_components(String threads) throws Exception {
+		contextconfig.bind(CountedSingleton.class, CountedSingleton.class);
+		contextconfig.bind(SingletonConsumer.class, SingletonConsumer.class);
+		Context context = contextconfig.getContext();
+		List<SingletonConsumer> consumers = race(threads, () -> context.get(SingletonConsumer.class).get());
+		assertEquals(TASKS, new HashSet<>(consumers).size());
+		assertEquals(1, consumers.stream().map(c -> c.singleton).distinct().count());
+		assertEquals(1, instances.created.get());
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"platform", "virtual"})
+	public void should_confine_thread_scoped_instance_to_each_region(String threads) throws Exception {
+		contextconfig.bind(Component.class, ThreadScopedComponent.class);
+		Context context = contextconfig.getContext();
+		List<Component> components = race(threads, () -> {
+			try (ThreadConfinement confinement = ThreadConfinement.open()) {
+				Component component = context.get(Component.class).get();
+				assertSame(component, context.get(Component.class).get());
+				return component;
+			}
+		});
+		assertEquals(TASKS, new HashSet<>(components).size());
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"platform", "virtual"})
+	public void should_cache_thread_scoped_instance_only_on_platform_threads(String threads) throws Exception {
+		contextconfig.bind(Component.class, ThreadScopedComponent.class);
+		Context context = contextconfig.getContext();
+		List<Component> components = race(threads, () -> {
+			Component component = context.get(Component.class).get();
+			assertEquals(threads.equals("platform"), component == context.get(Component.class).get());
+			return component;
+		});
+		if (threads.equals("platform")) assertTrue(new HashSet<>(components).size() <= THREADS);
+		else assertEquals(TASKS, new HashSet<>(components).size());
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"platform", "virtual"})
+	public void should_keep_request_scope_per_child_context(String threads) throws Exception {
+		contextconfig.bind(CountedSingleton.class, CountedSingleton.class);
+		Context parent = contextconfig.getContext();
+		Contextconfig request = new Contextconfig();
+		request.bind(Component.class, RequestScopedComponent.class);
+		List<Component> components = race(threads, () -> {
+			Context child = request.getContext(parent);
+			Component component = child.get(Component.class).get();
+			assertSame(component, child.get(Component.class).get());
+			assertSame(parent.get(CountedSingleton.class).get(), child.get(CountedSingleton.class).get());
+			return component;
+		});
+		assertEquals(TASKS, new HashSet<>(components).size());
+		assertEquals(1, instances.created.get());
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"platform", "virtual"})
+	public void should_link_indexed_components_under_concurrent_first_resolution(String threads) throws Exception {
+		for (int round = 0; round < ROUNDS; round++) {
+			instances.created.set(0);
+			Contextconfig config = new Contextconfig();
+			config.bind(Instances.class, instances);
+			config.scan(new ByteArrayInputStream(("CountedSingleton\tjakarta.inject.Singleton\tCountedSingleton\n"
+				+ "SingletonConsumer\t\tSingletonConsumer\n").getBytes(UTF_8)), getClass().getClassLoader());
+			Context context = config.getContext();
+			List<SingletonConsumer> consumers = race(threads, () -> context.get(SingletonConsumer.class).get());
+			assertEquals(1, consumers.stream().map(c -> c.singleton).distinct().count());
+			assertEquals(1, instances.created.get());
+		}
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"platform", "virtual"})
+	public void should_bind_and_get_context_from_many_threads(String threads) throws Exception {
+		List<Class<?>> types = List.of(Component.class, Dependency.class, AnotherDependency.class);
+		AtomicInteger next = new AtomicInteger();
+		race(threads, () -> {
+			int task = next.getAndIncrement();
+			switch (task % 4) {
+				case 0 -> contextconfig.bind(Component.class, new Component() {});
+				case 1 -> contextconfig.bind(Dependency.class, new Dependency() {});
+				case 2 -> contextconfig.bind(AnotherDependency.class, new AnotherDependency() {});
+				default -> contextconfig.getContext();
+			}
+			return task;
+		});
+		Context context = contextconfig.getContext();
+		for (Class<?> type : types) assertTrue(context.get(type).isPresent());
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"platform", "virtual"})
+	public void should_not_change_published_context_while_rebinding(String threads) throws Exception {
+		Component published = new Component() {};
+		contextconfig.bind(Component.class, published);
+		Context context = contextconfig.getContext();
+		AtomicInteger next = new AtomicInteger();
+		List<Component> components = race(threads, () -> {
+			if (next.getAndIncrement() % 2 == 1) {
+				contextconfig.bind(Component.class, new Component() {});
+				contextconfig.getContext();
+			}
+			return context.get(Component.class).get();
+		});
+		for (Component component : components) assertSame(published, component);
+		assertNotSame(published, contextconfig.getContext().get(Component.class).get());
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"platform", "virtual"})
+	public void should_instantiate_singletons_eagerly_on_executor(String threads) throws Exception {
+		contextconfig.bind(CountedSingleton.class, CountedSingleton.class);
+		contextconfig.bind(SingletonConsumer.class, SingletonConsumer.class);
+		ExecutorService executor = executor(threads);
+		try {
+			Context context = contextconfig.getContext(executor).context();
+			assertEquals(1, instances.created.get());
+			List<CountedSingleton> singletons = race(threads, () -> context.get(SingletonConsumer.class).get().singleton);
+			assertEquals(1, new HashSet<>(singletons).size());
+			assertEquals(1, instances.created.get());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static <T> List<T> race(String threads, Callable<T> task) throws Exception {
+		ExecutorService executor = executor(threads);
+		try {
+			CountDownLatch start = new CountDownLatch(1);
+			List<Future<T>> futures = new ArrayList<>();
+			for (int i = 0; i < TASKS; i++)
+				futures.add(executor.submit(() -> {
+					start.await();
+					return task.call();
+				}));
+			start.countDown();
+			List<T> results = new ArrayList<>();
+			for (Future<T> future : futures) results.add(future.get(10, SECONDS));
+			return results;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static ExecutorService executor(String threads) {
+		if (threads.equals("platform")) return Executors.newFixedThreadPool(THREADS);
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (ReflectiveOperationException | UnsupportedOperationException e) {
+			assumeTrue(false, "virtual threads are not available on Java " + Runtime.version());
+			throw new IllegalStateException(e);
+		}
+	}
+}
+
+class Instances {
+	final AtomicInteger created = new AtomicInteger();
+}
+
+class FullyInjectedComponent {
+	final Instances constructorInjected;
+	@Inject
+	Instances fieldInjected;
+	Instances methodInjected;
+
+	@Inject
+	public FullyInjectedComponent(Instances instances) {
+		this.constructorInjected = instances;
+	}
+
+	@Inject
+	void install(Instances instances) {
+		this.methodInjected = instances;
+	}
+}
+
+@Singleton
+class CountedSingleton {
+	@Inject
+	public CountedSingleton(Instances instances) throws InterruptedException {
+		instances.created.incrementAndGet();
+		Thread.sleep(1);
+	}
+}
+
+class SingletonConsumer {
+	final CountedSingleton singleton;
+
+	@Inject
+	public SingletonConsumer(CountedSingleton singleton) {
+		this.singleton = singleton;
+	}
+}
@@ -1,12 +1,42 @@
 import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.inject.Scope;
+import jakarta.inject.Singleton;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Retention;
+import java.lang.ref.Reference;
+import java.lang.ref.SoftReference;
+import java.lang.reflect.Type;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
 
 public class ContainerTest {
 
@@ -41,33 +71,1415 @@ public class ContainerTest {
 				assertTrue(components.contains(Component.class));
 				assertTrue(components.contains(Dependency.class));
 			}
+
+			@Test
+			public void should_throw_exception_if_transitive_dependency_not_found() {
+				contextconfig.bind(Component.class, ComponentWithInjectConstructor.class);
+				contextconfig.bind(Dependency.class, DependencyDependentOnAnotherDependency.class);
+				DependencyNotFoundException dependencyNotFoundException = assertThrows(DependencyNotFoundException.class, () -> contextconfig.getContext());
+				assertEquals(AnotherDependency.class, dependencyNotFoundException.getDependency());
+				assertEquals(Dependency.class, dependencyNotFoundException.getComponent());
+			}
+
+			@Test
+			public void should_throw_exception_when_transitive_cyclic_dependency_occur() {
+				contextconfig.bind(Component.class, ComponentWithInjectConstructor.class);
+				contextconfig.bind(Dependency.class, DependencyDependentOnAnotherDependency.class);
+				contextconfig.bind(AnotherDependency.class, AnotherDependencyDependentOnComponent.class);
+				CyclicDependencyException cyclicDependencyException = assertThrows(CyclicDependencyException.class, () -> contextconfig.getContext());
+				assertEquals(Set.of(Component.class, Dependency.class, AnotherDependency.class), cyclicDependencyException.getComponents());
+			}
+
+			@Test
+			public void should_report_all_missing_dependencies_and_cycles_in_one_pass() {
+				contextconfig.bind(Component.class, ComponentWithInjectConstructor.class);
+				contextconfig.bind(Dependency.class, DependencyDependentOnAnotherDependency.class);
+				contextconfig.bind(AnotherDependency.class, AnotherDependencyDependentOnComponent.class);
+				contextconfig.bind(SelfDependentService.class, SelfDependentService.class);
+				ValidationException exception = assertThrows(ValidationException.class, () -> contextconfig.verify());
+				assertEquals(1, exception.getMissing().size());
+				assertEquals(SelfDependentService.class, exception.getMissing().get(0).getComponent());
+				assertEquals(String.class, exception.getMissing().get(0).getDependency());
+				assertEquals(2, exception.getCycles().size());
+				List<List<Class<?>>> paths = exception.getCycles().stream().map(CyclicDependencyException::getPath).toList();
+				assertTrue(paths.contains(List.of(SelfDependentService.class)));
+				List<Class<?>> cycle = new ArrayList<>(paths.stream().filter(path -> path.size() == 3).findFirst().get());
+				Collections.rotate(cycle, -cycle.indexOf(Component.class));
+				assertEquals(List.of(Component.class, Dependency.class, AnotherDependency.class), cycle);
+			}
+
+			@Test
+			public void should_get_context_after_verified() {
+				contextconfig.bind(Component.class, ComponentWithInjectConstructor.class);
+				contextconfig.bind(Dependency.class, DependencyDependentOnAnotherDependency.class);
+				contextconfig.bind(AnotherDependency.class, new AnotherDependency() {});
+				contextconfig.verify();
+				assertNotNull(contextconfig.getContext().get(Component.class).get());
+			}
+
+			@Test
+			public void should_verify_child_configuration_against_parent() {
+				contextconfig.bind(Dependency.class, new Dependency() {});
+				Context parent = contextconfig.getContext();
+				Contextconfig request = new Contextconfig();
+				request.bind(Component.class, ComponentWithInjectConstructor.class);
+				request.verify(parent);
+				ValidationException exception = assertThrows(ValidationException.class, () -> request.verify());
+				assertEquals(Dependency.class, exception.getMissing().get(0).getDependency());
+			}
+
+			@Test
+			public void should_resolve_transitive_dependencies_without_cycle() {
+				contextconfig.bind(Component.class, ComponentWithInjectConstructor.class);
+				contextconfig.bind(Dependency.class, DependencyDependentOnAnotherDependency.class);
+				contextconfig.bind(AnotherDependency.class, new AnotherDependency() {});
+				assertNotNull(contextconfig.getContext().get(Component.class).get());
+			}
+		}
+
+		@Test
+		public void should_bind_to_a_specific_instance() {
+			Component instance = new Component() {};
+			contextconfig.bind(Component.class, instance);
+			Context context = contextconfig.getContext();
+			assertSame(instance, context.get(Component.class).get());
+		}
+
+		@Test
+		public void should_return_empty_if_component_not_exist() {
+			Context context = contextconfig.getContext();
+			Optional<Component> optionalComponent = context.get(Component.class);
+			assertTrue(optionalComponent.isEmpty());
+		}
+
+		@Test
+		public void should_return_null_if_component_not_exist() {
+			Context context = contextconfig.getContext();
+			assertNull(context.getOrNull(Component.class));
+		}
+
+		@Test
+		public void should_throw_exception_if_required_component_not_exist() {
+			Context context = contextconfig.getContext();
+			assertThrows(NoSuchElementException.class, () -> context.require(Component.class));
+		}
+
+		@Test
+		public void should_require_bound_component() {
+			Component instance = new Component() {};
+			contextconfig.bind(Component.class, instance);
+			assertSame(instance, contextconfig.getContext().require(Component.class));
+		}
+
+		@Test
+		public void should_not_change_context_if_bind_after_get_context() {
+			Component instance = new Component() {};
+			contextconfig.bind(Component.class, instance);
+			Context context = contextconfig.getContext();
+			contextconfig.bind(Component.class, new Component() {});
+			contextconfig.bind(Dependency.class, new Dependency() {});
+			assertSame(instance, context.get(Component.class).get());
+			assertTrue(context.get(Dependency.class).isEmpty());
+		}
+
+	}
+
+	@Nested
+	class BatchResolution {
+		@Test
+		public void should_resolve_all_requested_components() {
+			Dependency dependency = new Dependency() {};
+			contextconfig.bind(Component.class, ComponentWithInjectConstructor.class);
+			contextconfig.bind(Dependency.class, dependency);
+			Components components = contextconfig.getContext().getAll(Component.class, Dependency.class);
+			assertSame(dependency, components.require(Dependency.class));
+			assertSame(dependency, ((ComponentWithInjectConstructor) components.require(Component.class)).getDependency());
+		}
+
+		@Test
+		public void should_return_empty_if_requested_component_not_exist() {
+			Components components = contextconfig.getContext().getAll(Component.class);
+			assertTrue(components.get(Component.class).isEmpty());
+			assertThrows(NoSuchElementException.class, () -> components.require(Component.class));
+		}
+
+		@Test
+		public void should_resolve_scoped_component_once_per_batch() {
+			Instrumentation instrumentation = new Instrumentation();
+			contextconfig.instrument(instrumentation);
+			contextconfig.bind(Component.class, SingletonComponentWithDependency.class);
+			contextconfig.bind(Dependency.class, DependencyDependentOnAnotherDependency.class);
+			contextconfig.bind(AnotherDependency.class, SingletonAnotherDependency.class);
+			Components components = contextconfig.getContext().getAll(Component.class, Dependency.class, AnotherDependency.class);
+			assertNotNull(components.require(AnotherDependency.class));
+			assertEquals(1, instrumentation.metrics(AnotherDependency.class).get().count());
+		}
+
+		@Test
+		public void should_look_up_cached_component_once_per_batch() {
+			AtomicLong ticks = new AtomicLong();
+			contextconfig.scope(Cached.class, new CacheScope(16, Duration.ofNanos(1), ticks::incrementAndGet, SoftReference::new));
+			contextconfig.bind(Dependency.class, DependencyWithDefaultConstructor.class, Cached.class);
+			Contextconfig request = new Contextconfig();
+			request.bind(Component.class, ComponentWithInjectConstructor.class);
+			request.bind(AnotherDependency.class, AnotherDependencyDependentOnBoth.class);
+			Context child = request.getContext(contextconfig.getContext());
+			Components components = child.getAll(Component.class, AnotherDependency.class, Dependency.class);
+			Dependency dependency = components.require(Dependency.class);
+			assertSame(dependency, ((ComponentWithInjectConstructor) components.require(Component.class)).getDependency());
+			assertSame(dependency, ((AnotherDependencyDependentOnBoth) components.require(AnotherDependency.class)).dependency);
+			CacheMetrics metrics = contextconfig.cacheMetrics(Dependency.class).get();
+			assertEquals(1, metrics.misses());
+			assertEquals(0, metrics.hits());
+			assertNotSame(dependency, child.get(Dependency.class).get());
+		}
+
+		@Test
+		public void should_not_share_transient_component_within_batch() {
+			contextconfig.bind(Component.class, ComponentWithInjectConstructor.class);
+			contextconfig.bind(Dependency.class, DependencyDependentOnAnotherDependency.class);
+			contextconfig.bind(AnotherDependency.class, new AnotherDependency() {});
+			Components components = contextconfig.getContext().getAll(Component.class, Dependency.class);
+			assertNotSame(components.require(Dependency.class), ((ComponentWithInjectConstructor) components.require(Component.class)).getDependency());
+		}
+
+		@Test
+		public void should_share_request_scope_of_context_with_batch() {
+			Dependency dependency = new Dependency() {};
+			contextconfig.bind(Dependency.class, dependency);
+			Contextconfig request = new Contextconfig();
+			request.bind(Component.class, RequestScopedComponent.class);
+			Context child = request.getContext(contextconfig.getContext());
+			Components components = child.getAll(Component.class, Dependency.class);
+			assertSame(child.get(Component.class).get(), components.require(Component.class));
+			assertSame(dependency, components.require(Dependency.class));
+		}
+	}
+
+	@Nested
+	class AsyncResolution {
+		@Test
+		public void should_resolve_component_asynchronously() throws Exception {
+			Dependency dependency = new Dependency() {};
+			contextconfig.bind(Component.class, ComponentWithInjectConstructor.class);
+			contextconfig.bind(Dependency.class, dependency);
+			Component component = contextconfig.getContext().getAsync(Component.class).get(5, TimeUnit.SECONDS);
+			assertSame(dependency, ((ComponentWithInjectConstructor) component).getDependency());
+		}
+
+		@Test
+		public void should_resolve_independent_dependencies_concurrently() throws Exception {
+			BarrierSingletonComponent.barrier = new CyclicBarrier(2);
+			contextconfig.bind(Component.class, BarrierSingletonComponent.class);
+			contextconfig.bind(Dependency.class, BarrierSingletonDependency.class);
+			contextconfig.bind(AnotherDependency.class, AnotherDependencyDependentOnBoth.class);
+			Context context = contextconfig.getContext();
+			AnotherDependencyDependentOnBoth component = (AnotherDependencyDependentOnBoth) context.getAsync(AnotherDependency.class).get(5, TimeUnit.SECONDS);
+			assertSame(context.get(Component.class).get(), component.component);
+			assertSame(context.get(Dependency.class).get(), component.dependency);
+		}
+
+		@Test
+		public void should_share_singleton_between_sync_and_async_resolution() throws Exception {
+			contextconfig.bind(Component.class, SingletonComponent.class);
+			Context context = contextconfig.getContext();
+			Component component = context.getAsync(Component.class).get(5, TimeUnit.SECONDS);
+			assertSame(component, context.get(Component.class).get());
+			assertSame(component, context.getAsync(Component.class).get(5, TimeUnit.SECONDS));
+		}
+
+		@Test
+		public void should_share_request_scoped_component_with_child_context() throws Exception {
+			contextconfig.bind(Dependency.class, new Dependency() {});
+			Contextconfig request = new Contextconfig();
+			request.bind(Component.class, RequestScopedComponent.class);
+			Context child = request.getContext(contextconfig.getContext());
+			assertSame(child.get(Component.class).get(), child.getAsync(Component.class).get(5, TimeUnit.SECONDS));
+			assertNotNull(child.getAsync(Dependency.class).get(5, TimeUnit.SECONDS));
+		}
+
+		@Test
+		public void should_not_block_bounded_executor_while_singleton_is_initializing() throws Exception {
+			contextconfig.bind(SharingRoot.class, SharingRoot.class);
+			contextconfig.bind(SharingBranch.class, SharingBranch.class);
+			contextconfig.bind(SharedSingleton.class, SharedSingleton.class);
+			contextconfig.bind(SharedLeaf.class, SharedLeaf.class);
+			Context context = contextconfig.getContext();
+			ExecutorService executor = Executors.newFixedThreadPool(1);
+			try {
+				SharingRoot root = context.getAsync(SharingRoot.class, executor).get(5, TimeUnit.SECONDS);
+				assertSame(root.singleton, root.branch.singleton);
+			} finally {
+				executor.shutdownNow();
+			}
+		}
+
+		@Test
+		public void should_complete_exceptionally_if_component_not_exist() {
+			ExecutionException exception = assertThrows(ExecutionException.class, () -> contextconfig.getContext().getAsync(Component.class).get(5, TimeUnit.SECONDS));
+			assertInstanceOf(NoSuchElementException.class, exception.getCause());
+		}
+
+		@Test
+		public void should_retry_singleton_after_failed_async_resolution() {
+			contextconfig.bind(Component.class, ComponentWithInjectConstructor.class);
+			contextconfig.bind(Dependency.class, FailingSingletonDependency.class);
+			Context context = contextconfig.getContext();
+			ExecutionException exception = assertThrows(ExecutionException.class, () -> context.getAsync(Component.class).get(5, TimeUnit.SECONDS));
+			assertInstanceOf(IllegalStateException.class, exception.getCause());
+			assertThrows(IllegalStateException.class, () -> context.get(Dependency.class));
+		}
+	}
+
+	@Nested
+	class DependencyGraphExport {
+		@Test
+		public void should_multiply_instances_of_transient_diamond() {
+			contextconfig.bind(Component.class, ComponentWithDiamondDependencies.class);
+			contextconfig.bind(Dependency.class, DependencyDependentOnAnotherDependency.class);
+			contextconfig.bind(AnotherDependency.class, AnotherDependencyWithDefaultConstructor.class);
+			DependencyGraph graph = contextconfig.graph();
+			DependencyGraph.Node component = graph.node(Component.class).get();
+			DependencyGraph.Node anotherDependency = graph.node(AnotherDependency.class).get();
+			assertEquals(4, component.instances());
+			assertEquals(2, component.closure());
+			assertEquals(2, component.fanOut());
+			assertEquals(0, component.fanIn());
+			assertEquals(2, anotherDependency.fanIn());
+			assertEquals(4, anotherDependency.demand());
+			assertEquals(List.of(AnotherDependency.class, Dependency.class), graph.candidates().stream().map(DependencyGraph.Node::type).toList());
+		}
+
+		@Test
+		public void should_not_count_shared_or_bound_instances() {
+			contextconfig.bind(Component.class, ComponentWithDiamondDependencies.class);
+			contextconfig.bind(Dependency.class, DependencyDependentOnAnotherDependency.class);
+			contextconfig.bind(AnotherDependency.class, SingletonAnotherDependency.class);
+			DependencyGraph graph = contextconfig.graph();
+			assertEquals(2, graph.node(Component.class).get().instances());
+			assertTrue(graph.node(AnotherDependency.class).get().shared());
+			assertEquals(List.of(Dependency.class), graph.candidates().stream().map(DependencyGraph.Node::type).toList());
+
+			contextconfig.bind(AnotherDependency.class, new AnotherDependency() {});
+			assertEquals(0, contextconfig.graph().node(AnotherDependency.class).get().instances());
+			assertEquals(2, contextconfig.graph().node(Component.class).get().instances());
+		}
+
+		@Test
+		public void should_include_indexed_components_in_graph() {
+			contextconfig.bind(AnotherDependency.class, new AnotherDependency() {});
+			contextconfig.scan(new ByteArrayInputStream("IndexedServiceWithInjectField\t\tIndexedService\n".getBytes(UTF_8)), getClass().getClassLoader());
+			DependencyGraph.Node service = contextconfig.graph().node(IndexedService.class).get();
+			assertEquals(List.of(Key.of(AnotherDependency.class)), service.dependencies());
+			assertEquals(IndexedServiceWithInjectField.class, service.implementation());
+		}
+
+		@Test
+		public void should_not_export_graph_of_invalid_configuration() {
+			contextconfig.bind(Component.class, ComponentWithInjectConstructor.class);
+			assertThrows(DependencyNotFoundException.class, () -> contextconfig.graph());
+		}
+
+		@Test
+		public void should_export_graph_as_dot_and_json() {
+			contextconfig.bind(Dependency.class, DependencyDependentOnAnotherDependency.class);
+			contextconfig.bind(AnotherDependency.class, SingletonAnotherDependency.class);
+			DependencyGraph graph = contextconfig.graph();
+			assertEquals("""
+				digraph components {
+					"AnotherDependency" [shape=box, label="AnotherDependency\\n@Singleton\\ninstances=1 demand=2"];
+					"Dependency" [shape=ellipse, label="Dependency\\ninstances=1 demand=1"];
+					"Dependency" -> "AnotherDependency";
+				}
+				""", graph.toDot());
+			assertEquals("{\"nodes\":["
+				+ "{\"type\":\"AnotherDependency\",\"implementation\":\"SingletonAnotherDependency\",\"scope\":\"jakarta.inject.Singleton\",\"shared\":true,"
+				+ "\"dependencies\":[],\"fanIn\":1,\"fanOut\":0,\"closure\":0,\"instances\":1,\"demand\":2},"
+				+ "{\"type\":\"Dependency\",\"implementation\":\"DependencyDependentOnAnotherDependency\",\"scope\":null,\"shared\":false,"
+				+ "\"dependencies\":[\"AnotherDependency\"],\"fanIn\":0,\"fanOut\":1,\"closure\":1,\"instances\":1,\"demand\":1}]}", graph.toJson());
+		}
+	}
+
+	@Nested
+	class BindingKeys {
+		private final Key<Repository<String>> strings = key(Repository.class, String.class);
+		private final Key<Repository<Integer>> integers = key(Repository.class, Integer.class);
+
+		private static <T> Key<T> key(Class<? super T> raw, Type... arguments) {
+			return (Key<T>) Key.of(Key.parameterized(raw, arguments));
+		}
+
+		@Test
+		public void should_bind_implementations_by_parameterized_type() {
+			contextconfig.bind(strings, StringRepository.class);
+			contextconfig.bind(integers, IntegerRepository.class);
+			Context context = contextconfig.getContext();
+			assertInstanceOf(StringRepository.class, context.get(strings).get());
+			assertInstanceOf(IntegerRepository.class, context.get(integers).get());
+			assertTrue(context.get(Repository.class).isEmpty());
+		}
+
+		@Test
+		public void should_inject_qualified_and_parameterized_dependencies() {
+			Dependency primary = new Dependency() {};
+			Dependency secondary = new Dependency() {};
+			contextconfig.bind(Key.named(Dependency.class, "primary"), primary);
+			contextconfig.bind(Key.named(Dependency.class, "secondary"), secondary);
+			contextconfig.bind(strings, StringRepository.class);
+			contextconfig.bind(Component.class, ComponentWithQualifiedDependencies.class);
+			ComponentWithQualifiedDependencies component = (ComponentWithQualifiedDependencies) contextconfig.getContext().get(Component.class).get();
+			assertSame(primary, component.primary);
+			assertSame(secondary, component.secondary);
+			assertInstanceOf(StringRepository.class, component.repository);
+			assertTrue(contextconfig.getContext().get(Dependency.class).isEmpty());
+		}
+
+		@Test
+		public void should_fall_back_to_raw_binding_for_unqualified_parameterized_dependency() {
+			contextconfig.bind(Key.named(Dependency.class, "primary"), new Dependency() {});
+			contextconfig.bind(Key.named(Dependency.class, "secondary"), new Dependency() {});
+			contextconfig.bind(Repository.class, IntegerRepository.class);
+			contextconfig.bind(Component.class, ComponentWithQualifiedDependencies.class);
+			assertInstanceOf(IntegerRepository.class, ((ComponentWithQualifiedDependencies) contextconfig.getContext().get(Component.class).get()).repository);
+			assertTrue(contextconfig.getContext().get(strings).isEmpty());
+
+			contextconfig.bind(strings, StringRepository.class);
+			assertInstanceOf(StringRepository.class, ((ComponentWithQualifiedDependencies) contextconfig.getContext().get(Component.class).get()).repository);
+		}
+
+		@Test
+		public void should_report_missing_qualified_dependency_by_key() {
+			contextconfig.bind(Key.named(Dependency.class, "primary"), new Dependency() {});
+			contextconfig.bind(strings, StringRepository.class);
+			contextconfig.bind(Dependency.class, new Dependency() {});
+			contextconfig.bind(Component.class, ComponentWithQualifiedDependencies.class);
+			DependencyNotFoundException exception = assertThrows(DependencyNotFoundException.class, () -> contextconfig.getContext());
+			assertSame(Key.named(Dependency.class, "secondary"), exception.getDependencyKey());
+			assertEquals(Dependency.class, exception.getDependency());
+			assertEquals(Component.class, exception.getComponent());
+		}
+
+		@Test
+		public void should_report_cycle_between_qualified_bindings_of_same_type() {
+			contextconfig.bind(Key.named(Dependency.class, "primary"), DependencyOnSecondary.class);
+			contextconfig.bind(Key.named(Dependency.class, "secondary"), DependencyOnPrimary.class);
+			ValidationException exception = assertThrows(ValidationException.class, () -> contextconfig.verify());
+			assertEquals(1, exception.getCycles().size());
+			assertEquals(List.of(Dependency.class, Dependency.class), exception.getCycles().get(0).getPath());
+			assertThrows(CyclicDependencyException.class, () -> contextconfig.getContext());
+		}
+
+		@Test
+		public void should_resolve_qualified_dependency_from_parent_context() {
+			Dependency primary = new Dependency() {};
+			contextconfig.bind(Key.named(Dependency.class, "primary"), primary);
+			contextconfig.bind(Key.named(Dependency.class, "secondary"), new Dependency() {});
+			contextconfig.bind(strings, StringRepository.class);
+			Contextconfig child = new Contextconfig();
+			child.bind(Component.class, ComponentWithQualifiedDependencies.class);
+			Context context = child.getContext(contextconfig.getContext());
+			assertSame(primary, ((ComponentWithQualifiedDependencies) context.get(Component.class).get()).primary);
+			assertSame(primary, context.get(Key.named(Dependency.class, "primary")).get());
+		}
+
+		@Test
+		public void should_intern_equal_keys() throws Exception {
+			assertSame(Key.named(Dependency.class, "primary"), Key.named(Dependency.class, "primary"));
+			assertSame(strings, Key.of(StringRepository.class.getGenericInterfaces()[0]));
+			Type[] parameters = ComponentWithQualifiedDependencies.class.getConstructors()[0].getGenericParameterTypes();
+			Annotation[][] annotations = ComponentWithQualifiedDependencies.class.getConstructors()[0].getParameterAnnotations();
+			assertSame(strings, Key.of(parameters[0]));
+			assertSame(Key.named(Dependency.class, "primary"), Key.of(parameters[1], annotations[1][0]));
+			assertSame(Key.of(Component.class), Key.of((Type) Component.class));
+			assertNotSame(Key.named(Dependency.class, "primary"), Key.of(Dependency.class));
+		}
+
+		@Test
+		public void should_not_accept_non_qualifier_annotation() {
+			Annotation singleton = SingletonAnotherDependency.class.getAnnotation(Singleton.class);
+			assertThrows(IllegalComponentException.class, () -> Key.of(AnotherDependency.class, singleton));
+		}
+
+		@Test
+		public void should_not_bind_implementation_of_other_raw_type() {
+			Key<Object> primary = (Key<Object>) (Key<?>) Key.named(Dependency.class, "primary");
+			assertThrows(IllegalComponentException.class, () -> contextconfig.<Object, StringRepository>bind(primary, StringRepository.class));
+		}
+	}
+
+	@Nested
+	class ChildContext {
+		@Test
+		public void should_resolve_component_from_parent() {
+			Dependency dependency = new Dependency() {};
+			contextconfig.bind(Dependency.class, dependency);
+			Context child = new Contextconfig().getContext(contextconfig.getContext());
+			assertSame(dependency, child.get(Dependency.class).get());
+		}
+
+		@Test
+		public void should_inject_parent_component_into_child_component() {
+			Dependency dependency = new Dependency() {};
+			contextconfig.bind(Dependency.class, dependency);
+			Contextconfig request = new Contextconfig();
+			request.bind(Component.class, ComponentWithInjectConstructor.class);
+			Component component = request.getContext(contextconfig.getContext()).get(Component.class).get();
+			assertSame(dependency, ((ComponentWithInjectConstructor) component).getDependency());
+		}
+
+		@Test
+		public void should_override_parent_component_in_child_only() {
+			Dependency parentDependency = new Dependency() {};
+			Dependency childDependency = new Dependency() {};
+			contextconfig.bind(Dependency.class, parentDependency);
+			Context parent = contextconfig.getContext();
+			Contextconfig request = new Contextconfig();
+			request.bind(Dependency.class, childDependency);
+			assertSame(childDependency, request.getContext(parent).get(Dependency.class).get());
+			assertSame(parentDependency, parent.get(Dependency.class).get());
+		}
+
+		@Test
+		public void should_throw_exception_if_dependency_not_found_in_child_nor_parent() {
+			Context parent = contextconfig.getContext();
+			Contextconfig request = new Contextconfig();
+			request.bind(Component.class, ComponentWithInjectConstructor.class);
+			DependencyNotFoundException exception = assertThrows(DependencyNotFoundException.class, () -> request.getContext(parent));
+			assertEquals(Dependency.class, exception.getDependency());
+		}
+
+		@Test
+		public void should_share_parent_singleton_between_children() {
+			contextconfig.bind(Component.class, SingletonComponent.class);
+			Context parent = contextconfig.getContext();
+			assertSame(new Contextconfig().getContext(parent).get(Component.class).get(), new Contextconfig().getContext(parent).get(Component.class).get());
+		}
+
+		@Test
+		public void should_retrieve_same_request_scoped_instance_within_child() {
+			Contextconfig request = new Contextconfig();
+			request.bind(Component.class, RequestScopedComponent.class);
+			Context child = request.getContext(contextconfig.getContext());
+			assertSame(child.get(Component.class).get(), child.get(Component.class).get());
+		}
+
+		@Test
+		public void should_retrieve_different_request_scoped_instance_for_each_child() {
+			contextconfig.bind(Component.class, RequestScopedComponent.class);
+			Context parent = contextconfig.getContext();
+			Context first = new Contextconfig().getContext(parent);
+			Context second = new Contextconfig().getContext(parent);
+			assertSame(first.get(Component.class).get(), first.get(Component.class).get());
+			assertNotSame(first.get(Component.class).get(), second.get(Component.class).get());
+		}
+
+		@Test
+		public void should_inject_components_inherited_across_three_levels() {
+			Dependency dependency = new Dependency() {};
+			contextconfig.bind(Dependency.class, dependency);
+			Contextconfig session = new Contextconfig();
+			session.bind(AnotherDependency.class, AnotherDependencyWithDefaultConstructor.class, Singleton.class);
+			Context child = session.getContext(contextconfig.getContext());
+			Contextconfig request = new Contextconfig();
+			request.bind(Component.class, ComponentWithInjectConstructor.class);
+			request.bind(AnotherDependencyDependentOnBoth.class, AnotherDependencyDependentOnBoth.class);
+			Context grandchild = request.getContext(child);
+			assertSame(dependency, ((ComponentWithInjectConstructor) grandchild.get(Component.class).get()).getDependency());
+			assertSame(dependency, grandchild.get(AnotherDependencyDependentOnBoth.class).get().dependency);
+			assertSame(child.get(AnotherDependency.class).get(), grandchild.get(AnotherDependency.class).get());
+		}
+
+		@Test
+		public void should_throw_exception_if_parent_not_created_by_contextconfig() {
+			assertThrows(IllegalArgumentException.class, () -> contextconfig.getContext(mock(Context.class)));
+		}
+	}
+
+	@Nested
+	class Rebinding {
+		@Test
+		public void should_publish_new_context_without_changing_previous_one() {
+			Dependency before = new Dependency() {};
+			Dependency after = new Dependency() {};
+			contextconfig.bind(Component.class, ComponentWithInjectConstructor.class);
+			contextconfig.bind(Dependency.class, before);
+			Context previous = contextconfig.getContext();
+			contextconfig.bind(Dependency.class, after);
+			Context current = contextconfig.getContext();
+			assertSame(before, ((ComponentWithInjectConstructor) previous.get(Component.class).get()).getDependency());
+			assertSame(after, ((ComponentWithInjectConstructor) current.get(Component.class).get()).getDependency());
+		}
+
+		@Test
+		public void should_throw_exception_if_rebinding_introduces_cycle() {
+			contextconfig.bind(Component.class, ComponentWithInjectConstructor.class);
+			contextconfig.bind(Dependency.class, new Dependency() {});
+			contextconfig.getContext();
+			contextconfig.bind(Dependency.class, DependencyDependentOnComponent.class);
+			assertThrows(CyclicDependencyException.class, () -> contextconfig.getContext());
+		}
+
+		@Test
+		public void should_throw_exception_if_unbound_dependency_still_required() {
+			contextconfig.bind(Component.class, ComponentWithInjectConstructor.class);
+			contextconfig.bind(Dependency.class, new Dependency() {});
+			contextconfig.getContext();
+			contextconfig.unbind(Dependency.class);
+			DependencyNotFoundException exception = assertThrows(DependencyNotFoundException.class, () -> contextconfig.getContext());
+			assertEquals(Dependency.class, exception.getDependency());
+		}
+
+		@Test
+		public void should_validate_again_after_missing_dependency_bound() {
+			contextconfig.bind(Component.class, ComponentWithInjectConstructor.class);
+			assertThrows(DependencyNotFoundException.class, () -> contextconfig.getContext());
+			contextconfig.bind(Dependency.class, new Dependency() {});
+			assertTrue(contextconfig.getContext().get(Component.class).isPresent());
+		}
+
+		@Test
+		public void should_create_new_singleton_only_if_its_dependency_rebound() {
+			contextconfig.bind(Component.class, SingletonComponentWithDependency.class);
+			contextconfig.bind(Dependency.class, new Dependency() {});
+			contextconfig.bind(AnotherDependency.class, SingletonAnotherDependency.class);
+			Context previous = contextconfig.getContext();
+			Dependency after = new Dependency() {};
+			contextconfig.bind(Dependency.class, after);
+			Context current = contextconfig.getContext();
+			assertSame(after, ((SingletonComponentWithDependency) current.get(Component.class).get()).dependency);
+			assertNotSame(previous.get(Component.class).get(), current.get(Component.class).get());
+			assertSame(previous.get(AnotherDependency.class).get(), current.get(AnotherDependency.class).get());
+		}
+
+		@Test
+		public void should_create_new_child_singleton_if_its_dependency_rebound() {
+			Context parent = contextconfig.getContext();
+			Contextconfig child = new Contextconfig();
+			child.bind(Component.class, SingletonComponentWithDependency.class);
+			child.bind(Dependency.class, new Dependency() {});
+			child.getContext(parent).get(Component.class).get();
+			Dependency after = new Dependency() {};
+			child.bind(Dependency.class, after);
+			Context current = child.getContext(parent);
+			assertSame(after, ((SingletonComponentWithDependency) current.get(Component.class).get()).dependency);
+		}
+
+		@Test
+		public void should_create_new_scanned_singleton_if_its_dependency_rebound() {
+			contextconfig.scan(new ByteArrayInputStream(("SingletonComponentWithDependency\tjakarta.inject.Singleton\tComponent\n"
+				+ "SingletonAnotherDependency\tjakarta.inject.Singleton\tAnotherDependency\n").getBytes(UTF_8)), getClass().getClassLoader());
+			contextconfig.bind(Dependency.class, new Dependency() {});
+			Context previous = contextconfig.getContext();
+			previous.get(Component.class).get();
+			previous.get(AnotherDependency.class).get();
+			Dependency after = new Dependency() {};
+			contextconfig.bind(Dependency.class, after);
+			Context current = contextconfig.getContext();
+			assertSame(after, ((SingletonComponentWithDependency) current.get(Component.class).get()).dependency);
+			assertSame(previous.get(AnotherDependency.class).get(), current.get(AnotherDependency.class).get());
+		}
+	}
+
+	@Nested
+	class InjectionPlanSnapshot {
+		private byte[] export(Contextconfig config) {
+			ByteArrayOutputStream plan = new ByteArrayOutputStream();
+			config.export(plan);
+			return plan.toByteArray();
+		}
+
+		@Test
+		public void should_restore_bindings_from_exported_plan() {
+			contextconfig.bind(Component.class, SingletonComponentWithDependency.class);
+			contextconfig.bind(Dependency.class, DependencyDependentOnAnotherDependency.class);
+			contextconfig.bind(AnotherDependency.class, SingletonAnotherDependency.class);
+			Contextconfig restored = new Contextconfig();
+			assertTrue(restored.load(new ByteArrayInputStream(export(contextconfig))));
+			Context context = restored.getContext();
+			assertSame(context.get(Component.class).get(), context.get(Component.class).get());
+			assertTrue(((SingletonComponentWithDependency) context.get(Component.class).get()).dependency instanceof DependencyDependentOnAnotherDependency);
+		}
+
+		@Test
+		public void should_restore_qualified_and_parameterized_bindings() {
+			Key<Dependency> primary = Key.named(Dependency.class, "primary");
+			Key<Repository<String>> strings = (Key<Repository<String>>) Key.of(Key.parameterized(Repository.class, String.class));
+			contextconfig.bind(primary, DependencyWithDefaultConstructor.class);
+			contextconfig.bind(strings, StringRepository.class);
+			Contextconfig restored = new Contextconfig();
+			assertTrue(restored.load(new ByteArrayInputStream(export(contextconfig))));
+			Context context = restored.getContext();
+			assertInstanceOf(DependencyWithDefaultConstructor.class, context.get(primary).get());
+			assertInstanceOf(StringRepository.class, context.get(strings).get());
+			assertTrue(context.get(Dependency.class).isEmpty());
+		}
+
+		@Test
+		public void should_check_dependency_outside_plan() {
+			contextconfig.bind(Component.class, ComponentWithInjectConstructor.class);
+			contextconfig.bind(Dependency.class, new Dependency() {});
+			Contextconfig restored = new Contextconfig();
+			assertTrue(restored.load(new ByteArrayInputStream(export(contextconfig))));
+			assertThrows(DependencyNotFoundException.class, () -> restored.getContext());
+			Dependency dependency = new Dependency() {};
+			restored.bind(Dependency.class, dependency);
+			assertSame(dependency, ((ComponentWithInjectConstructor) restored.getContext().get(Component.class).get()).getDependency());
+		}
+
+		@Test
+		public void should_not_load_truncated_plan() {
+			contextconfig.bind(Component.class, SingletonComponent.class);
+			byte[] plan = export(contextconfig);
+			Contextconfig restored = new Contextconfig();
+			assertFalse(restored.load(new ByteArrayInputStream(Arrays.copyOf(plan, plan.length - 1))));
+			assertTrue(restored.getContext().get(Component.class).isEmpty());
+		}
+
+		@Test
+		public void should_not_load_empty_or_truncated_header() {
+			byte[] plan = export(contextconfig);
+			Contextconfig restored = new Contextconfig();
+			assertFalse(restored.load(new ByteArrayInputStream(new byte[0])));
+			assertFalse(restored.load(new ByteArrayInputStream(Arrays.copyOf(plan, 6))));
+			assertFalse(restored.load(new ByteArrayInputStream(Arrays.copyOf(plan, 10))));
+		}
+
+		@Test
+		public void should_not_load_plan_with_negative_or_huge_count() throws IOException {
+			byte[] header = Arrays.copyOf(export(contextconfig), 8);
+			for (int count : new int[]{-1, Integer.MAX_VALUE}) {
+				ByteArrayOutputStream plan = new ByteArrayOutputStream();
+				DataOutputStream out = new DataOutputStream(plan);
+				out.write(header);
+				out.writeInt(1);
+				out.writeBoolean(true);
+				out.writeUTF(Repository.class.getName());
+				out.writeInt(count);
+				assertFalse(new Contextconfig().load(new ByteArrayInputStream(plan.toByteArray())));
+			}
+		}
+
+		@Test
+		public void should_not_load_plan_with_unregistered_scope() {
+			contextconfig.scope(Pooled.class, SingletonProvider::new);
+			contextconfig.bind(Component.class, PooledComponent.class);
+			Contextconfig restored = new Contextconfig();
+			assertFalse(restored.load(new ByteArrayInputStream(export(contextconfig))));
+			assertTrue(restored.getContext().get(Component.class).isEmpty());
+		}
+
+		@Test
+		public void should_not_export_invalid_bindings() {
+			contextconfig.bind(Component.class, ComponentWithInjectConstructor.class);
+			assertThrows(DependencyNotFoundException.class, () -> export(contextconfig));
+		}
+	}
+
+	@Nested
+	class ComponentScanning {
+		private void scan(String... entries) {
+			contextconfig.scan(new ByteArrayInputStream(String.join("\n", entries).getBytes(UTF_8)), getClass().getClassLoader());
+		}
+
+		@Test
+		public void should_bind_indexed_implementation_to_its_interfaces() {
+			scan("ComponentWithInjectConstructor\t\tComponent", "DependencyDependentOnAnotherDependency\t\tDependency");
+			contextconfig.bind(AnotherDependency.class, new AnotherDependency() {});
+			Component component = contextconfig.getContext().get(Component.class).get();
+			assertTrue(((ComponentWithInjectConstructor) component).getDependency() instanceof DependencyDependentOnAnotherDependency);
+		}
+
+		@Test
+		public void should_apply_indexed_scope() {
+			scan("SingletonComponent\tjakarta.inject.Singleton\tComponent");
+			Context context = contextconfig.getContext();
+			assertSame(context.get(Component.class).get(), context.get(Component.class).get());
+		}
+
+		@Test
+		public void should_throw_exception_if_indexed_scope_not_registered() {
+			assertThrows(IllegalComponentException.class, () -> scan("PooledComponent\tPooled\tComponent"));
+		}
+
+		@Test
+		public void should_not_introspect_indexed_component_until_first_resolved() {
+			scan("ComponentWithMultiInjectConstructors\t\tComponent", "DependencyDependentOnComponent\t\tDependency");
+			Context context = contextconfig.getContext();
+			assertThrows(IllegalComponentException.class, () -> context.get(Component.class));
+			assertThrows(IllegalComponentException.class, () -> context.get(Dependency.class));
+		}
+
+		@Test
+		public void should_check_dependency_of_indexed_component_when_first_resolved() {
+			scan("ComponentWithInjectConstructor\t\tComponent");
+			Context context = contextconfig.getContext();
+			DependencyNotFoundException exception = assertThrows(DependencyNotFoundException.class, () -> context.get(Component.class));
+			assertEquals(Component.class, exception.getComponent());
+			assertEquals(Dependency.class, exception.getDependency());
+		}
+
+		@Test
+		public void should_throw_exception_when_indexed_components_are_cyclic() {
+			scan("ComponentWithInjectConstructor\t\tComponent", "DependencyDependentOnComponent\t\tDependency");
+			Context context = contextconfig.getContext();
+			CyclicDependencyException exception = assertThrows(CyclicDependencyException.class, () -> context.get(Component.class));
+			assertEquals(Set.of(Component.class, Dependency.class), exception.getComponents());
+		}
+
+		@Test
+		public void should_check_indexed_dependency_of_bound_component() {
+			contextconfig.bind(Component.class, ComponentWithInjectConstructor.class);
+			scan("DependencyDependentOnAnotherDependency\t\tDependency");
+			DependencyNotFoundException exception = assertThrows(DependencyNotFoundException.class, () -> contextconfig.getContext());
+			assertEquals(Dependency.class, exception.getComponent());
+			assertEquals(AnotherDependency.class, exception.getDependency());
+		}
+
+		@Test
+		public void should_recheck_indexed_dependency_after_rebind() {
+			contextconfig.bind(Component.class, ComponentWithInjectConstructor.class);
+			contextconfig.bind(AnotherDependency.class, new AnotherDependency() {});
+			scan("DependencyDependentOnAnotherDependency\t\tDependency");
+			contextconfig.getContext();
+			contextconfig.unbind(AnotherDependency.class);
+			assertThrows(DependencyNotFoundException.class, () -> contextconfig.getContext());
+		}
+
+		@Test
+		public void should_prefer_bound_component_over_index() {
+			Component instance = new Component() {};
+			contextconfig.bind(Component.class, instance);
+			scan("ComponentWithDefaultConstructor\t\tComponent");
+			assertSame(instance, contextconfig.getContext().get(Component.class).get());
+		}
+
+		@Test
+		public void should_not_bind_interface_with_more_than_one_indexed_implementation() {
+			scan("ComponentWithDefaultConstructor\t\tComponent", "SingletonComponent\tjakarta.inject.Singleton\tComponent");
+			assertTrue(contextconfig.getContext().get(Component.class).isEmpty());
+		}
+
+		@Test
+		public void should_throw_exception_if_indexed_class_not_implement_interface() {
+			assertThrows(IllegalComponentException.class, () -> scan("ComponentWithDefaultConstructor\t\tDependency"));
+		}
+
+		@Test
+		public void should_export_indexed_components() {
+			scan("SingletonComponent\tjakarta.inject.Singleton\tComponent");
+			ByteArrayOutputStream plan = new ByteArrayOutputStream();
+			contextconfig.export(plan);
+			Contextconfig restored = new Contextconfig();
+			assertTrue(restored.load(new ByteArrayInputStream(plan.toByteArray())));
+			assertTrue(restored.getContext().get(Component.class).get() instanceof SingletonComponent);
+		}
+
+		@Test
+		public void should_scan_index_generated_at_build_time() {
+			AnotherDependency dependency = new AnotherDependency() {};
+			contextconfig.bind(AnotherDependency.class, dependency);
+			contextconfig.scan();
+			IndexedService service = contextconfig.getContext().get(IndexedService.class).get();
+			assertSame(dependency, ((IndexedServiceWithInjectField) service).dependency);
+		}
+	}
+
+	@Nested
+	class ResolutionInstrumentation {
+		private final Instrumentation instrumentation = new Instrumentation();
+
+		@BeforeEach
+		void setUp() {
+			contextconfig.instrument(instrumentation);
+		}
+
+		@Test
+		public void should_not_record_metrics_if_not_instrumented() {
+			Contextconfig config = new Contextconfig();
+			config.bind(Component.class, ComponentWithDefaultConstructor.class);
+			config.getContext().get(Component.class).get();
+			assertTrue(instrumentation.metrics(Component.class).isEmpty());
+		}
+
+		@Test
+		public void should_record_resolution_count_per_binding() {
+			contextconfig.bind(Component.class, ComponentWithInjectConstructor.class);
+			contextconfig.bind(Dependency.class, new Dependency() {});
+			Context context = contextconfig.getContext();
+			context.get(Component.class).get();
+			context.get(Component.class).get();
+			assertEquals(2, instrumentation.metrics(Component.class).get().count());
+			assertEquals(2, instrumentation.metrics(Dependency.class).get().count());
+		}
+
+		@Test
+		public void should_record_construction_time_and_injection_phases() {
+			contextconfig.bind(Component.class, SlowSingletonComponent.class);
+			Context context = contextconfig.getContext();
+			context.get(Component.class).get();
+			context.get(Component.class).get();
+			ResolutionMetrics metrics = instrumentation.metrics(Component.class).get();
+			assertEquals(2, metrics.count());
+			assertTrue(metrics.total().toMillis() >= 5);
+			assertTrue(metrics.p99().toMillis() >= 5);
+			assertTrue(metrics.constructor().toMillis() >= 5);
+			assertTrue(metrics.total().compareTo(metrics.constructor().plus(metrics.fields()).plus(metrics.methods())) >= 0);
+		}
+
+		@Test
+		public void should_emit_jfr_event_for_slow_resolution() throws Exception {
+			contextconfig.bind(Component.class, SlowSingletonComponent.class);
+			Context context = contextconfig.getContext();
+			Path file = Files.createTempFile("resolution", ".jfr");
+			try (Recording recording = new Recording()) {
+				recording.enable(ResolutionEvent.class).withThreshold(Duration.ofMillis(1));
+				recording.start();
+				context.get(Component.class).get();
+				recording.stop();
+				recording.dump(file);
+			}
+			List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+			Files.delete(file);
+			assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals("container.ComponentResolution")
+				&& e.getClass("component").getName().equals(Component.class.getName())));
+		}
+	}
+
+	@Nested
+	class DependencySelection {
+
+	}
+
+	@Nested
+	class LifeCycleManagement {
+		@Test
+		public void should_create_new_instance_for_each_get_by_default() {
+			contextconfig.bind(Component.class, ComponentWithDefaultConstructor.class);
+			Context context = contextconfig.getContext();
+			assertNotSame(context.get(Component.class).get(), context.get(Component.class).get());
+		}
+
+		@Test
+		public void should_retrieve_same_instance_if_component_annotated_with_singleton() {
+			contextconfig.bind(Component.class, SingletonComponent.class);
+			Context context = contextconfig.getContext();
+			assertSame(context.get(Component.class).get(), context.get(Component.class).get());
+		}
+
+		@Test
+		public void should_retrieve_same_instance_if_bind_with_singleton_scope() {
+			contextconfig.bind(Component.class, ComponentWithDefaultConstructor.class, Singleton.class);
+			Context context = contextconfig.getContext();
+			assertSame(context.get(Component.class).get(), context.get(Component.class).get());
+		}
+
+		@Test
+		public void should_throw_exception_if_scope_not_registered() {
+			assertThrows(IllegalComponentException.class, () -> contextconfig.bind(Component.class, ComponentWithDefaultConstructor.class, Pooled.class));
+		}
+
+		@Test
+		public void should_bind_with_customized_scope() {
+			contextconfig.scope(Pooled.class, SingletonProvider::new);
+			contextconfig.bind(Component.class, PooledComponent.class);
+			Context context = contextconfig.getContext();
+			assertSame(context.get(Component.class).get(), context.get(Component.class).get());
+		}
+
+		@Test
+		public void should_retry_singleton_initialization_after_failure() {
+			FailingOnceComponent.attempts.set(0);
+			contextconfig.bind(Component.class, FailingOnceComponent.class, Singleton.class);
+			Context context = contextconfig.getContext();
+			assertThrows(IllegalStateException.class, () -> context.get(Component.class));
+			assertSame(context.get(Component.class).get(), context.get(Component.class).get());
+			assertEquals(2, FailingOnceComponent.attempts.get());
+		}
+
+		@Nested
+		class PooledScope {
+			@Test
+			public void should_reuse_released_instance() {
+				contextconfig.bind(Component.class, ComponentWithDefaultConstructor.class, PoolScoped.class);
+				Context context = contextconfig.getContext();
+				Component released;
+				try (Lease<Component> lease = context.borrow(Component.class)) {
+					released = lease.get();
+				}
+				try (Lease<Component> lease = context.borrow(Component.class)) {
+					assertSame(released, lease.get());
+				}
+				PoolMetrics metrics = contextconfig.poolMetrics(Component.class).get();
+				assertEquals(1, metrics.hits());
+				assertEquals(1, metrics.misses());
+			}
+
+			@Test
+			public void should_bind_component_annotated_with_pool_scope() {
+				contextconfig.bind(Component.class, PoolScopedComponent.class);
+				Context context = contextconfig.getContext();
+				Component released;
+				try (Lease<Component> lease = context.borrow(Component.class)) {
+					released = lease.get();
+				}
+				assertSame(released, context.get(Component.class).get());
+			}
+
+			@Test
+			public void should_create_instance_if_pool_is_empty() {
+				contextconfig.bind(Component.class, ComponentWithDefaultConstructor.class, PoolScoped.class);
+				Context context = contextconfig.getContext();
+				try (Lease<Component> first = context.borrow(Component.class); Lease<Component> second = context.borrow(Component.class)) {
+					assertNotSame(first.get(), second.get());
+				}
+				assertEquals(2, contextconfig.poolMetrics(Component.class).get().misses());
+			}
+
+			@Test
+			public void should_reset_instance_when_released() {
+				contextconfig.pool(Component.class, BufferComponent.class, 4, component -> component.buffer.setLength(0));
+				Context context = contextconfig.getContext();
+				try (Lease<Component> lease = context.borrow(Component.class)) {
+					((BufferComponent) lease.get()).buffer.append("request");
+				}
+				try (Lease<Component> lease = context.borrow(Component.class)) {
+					assertEquals("", ((BufferComponent) lease.get()).buffer.toString());
+				}
+			}
+
+			@Test
+			public void should_evict_released_instance_if_pool_is_full() {
+				contextconfig.pool(Component.class, ComponentWithDefaultConstructor.class, 1, component -> {});
+				Context context = contextconfig.getContext();
+				Lease<Component> first = context.borrow(Component.class);
+				Lease<Component> second = context.borrow(Component.class);
+				first.close();
+				second.close();
+				assertEquals(1, contextconfig.poolMetrics(Component.class).get().evictions());
+				try (Lease<Component> lease = context.borrow(Component.class)) {
+					assertNotNull(lease.get());
+				}
+				assertEquals(1, contextconfig.poolMetrics(Component.class).get().hits());
+			}
+
+			@Test
+			public void should_release_lease_only_once() {
+				contextconfig.bind(Component.class, ComponentWithDefaultConstructor.class, PoolScoped.class);
+				Context context = contextconfig.getContext();
+				Lease<Component> lease = context.borrow(Component.class);
+				lease.close();
+				lease.close();
+				assertThrows(IllegalStateException.class, lease::get);
+				try (Lease<Component> first = context.borrow(Component.class); Lease<Component> second = context.borrow(Component.class)) {
+					assertNotSame(first.get(), second.get());
+				}
+			}
+
+			@Test
+			public void should_not_pool_instance_resolved_without_lease() {
+				contextconfig.bind(Component.class, ComponentWithDefaultConstructor.class, PoolScoped.class);
+				Context context = contextconfig.getContext();
+				assertNotSame(context.get(Component.class).get(), context.get(Component.class).get());
+			}
+
+			@Test
+			public void should_lease_unpooled_component_without_pooling() {
+				contextconfig.bind(Component.class, ComponentWithDefaultConstructor.class);
+				Context context = contextconfig.getContext();
+				Component released;
+				try (Lease<Component> lease = context.borrow(Component.class)) {
+					released = lease.get();
+				}
+				assertNotSame(released, context.get(Component.class).get());
+				assertTrue(contextconfig.poolMetrics(Component.class).isEmpty());
+				assertThrows(NoSuchElementException.class, () -> context.borrow(Dependency.class));
+			}
 		}
 
-		@Test
-		public void should_bind_to_a_specific_instance() {
-			Component instance = new Component() {};
-			contextconfig.bind(Component.class, instance);
-			Context context = contextconfig.getContext();
-			assertSame(instance, context.get(Component.class).get());
+		@Nested
+		class ThreadScope {
+			private final List<Component> cleaned = new ArrayList<>();
+
+			@BeforeEach
+			public void release() {
+				ThreadConfinement.release();
+			}
+
+			@Test
+			public void should_reuse_instance_within_thread() {
+				contextconfig.bind(Component.class, ComponentWithDefaultConstructor.class, ThreadScoped.class);
+				Context context = contextconfig.getContext();
+				assertSame(context.get(Component.class).get(), context.get(Component.class).get());
+			}
+
+			@Test
+			public void should_not_share_instance_across_threads() throws Exception {
+				contextconfig.bind(Component.class, ComponentWithDefaultConstructor.class, ThreadScoped.class);
+				Context context = contextconfig.getContext();
+				ExecutorService executor = Executors.newSingleThreadExecutor();
+				try {
+					Component other = executor.submit(() -> context.get(Component.class).get()).get(5, TimeUnit.SECONDS);
+					assertSame(other, executor.submit(() -> context.get(Component.class).get()).get(5, TimeUnit.SECONDS));
+					assertNotSame(other, context.get(Component.class).get());
+				} finally {
+					executor.shutdownNow();
+				}
+			}
+
+			@Test
+			public void should_bind_component_annotated_with_thread_scope() {
+				contextconfig.bind(Component.class, ThreadScopedComponent.class);
+				Context context = contextconfig.getContext();
+				assertSame(context.get(Component.class).get(), context.get(Component.class).get());
+			}
+
+			@Test
+			public void should_share_thread_scoped_dependency_of_transient_components() {
+				contextconfig.bind(Component.class, ComponentWithInjectConstructor.class);
+				contextconfig.bind(Dependency.class, DependencyWithDefaultConstructor.class, ThreadScoped.class);
+				Context context = contextconfig.getContext();
+				ComponentWithInjectConstructor first = (ComponentWithInjectConstructor) context.get(Component.class).get();
+				ComponentWithInjectConstructor second = (ComponentWithInjectConstructor) context.get(Component.class).get();
+				assertNotSame(first, second);
+				assertSame(first.getDependency(), second.getDependency());
+			}
+
+			@Test
+			public void should_clean_up_instances_when_thread_releases_them() {
+				contextconfig.confine(Component.class, BufferComponent.class, cleaned::add);
+				Context context = contextconfig.getContext();
+				Component released = context.get(Component.class).get();
+				ThreadConfinement.release();
+				assertEquals(List.of(released), cleaned);
+				assertNotSame(released, context.get(Component.class).get());
+			}
+
+			@Test
+			public void should_confine_instances_to_open_region() {
+				contextconfig.confine(Component.class, BufferComponent.class, cleaned::add);
+				Context context = contextconfig.getContext();
+				Component outside = context.get(Component.class).get();
+				Component inside;
+				try (ThreadConfinement confinement = ThreadConfinement.open()) {
+					inside = context.get(Component.class).get();
+					assertSame(inside, context.get(Component.class).get());
+					assertNotSame(outside, inside);
+					ThreadConfinement.release();
+					assertTrue(cleaned.isEmpty());
+				}
+				assertEquals(List.of(inside), cleaned);
+				assertSame(outside, context.get(Component.class).get());
+			}
+
+			@Test
+			public void should_close_regions_in_reverse_order() {
+				ThreadConfinement outer = ThreadConfinement.open();
+				ThreadConfinement inner = ThreadConfinement.open();
+				assertThrows(IllegalStateException.class, outer::close);
+				inner.close();
+				outer.close();
+			}
 		}
 
-		@Test
-		public void should_return_empty_if_component_not_exist() {
-			Context context = contextconfig.getContext();
-			Optional<Component> optionalComponent = context.get(Component.class);
-			assertTrue(optionalComponent.isEmpty());
+		@Nested
+		class CachedScope {
+			private final AtomicLong ticker = new AtomicLong();
+			private final List<Reference<Object>> references = new ArrayList<>();
+
+			@BeforeEach
+			void setUp() {
+				contextconfig.scope(Cached.class, new CacheScope(2, Duration.ofSeconds(1), ticker::get, value -> {
+					Reference<Object> reference = new SoftReference<>(value);
+					references.add(reference);
+					return reference;
+				}));
+			}
+
+			@Test
+			public void should_reuse_cached_instance() {
+				contextconfig.bind(Component.class, ComponentWithDefaultConstructor.class, CacheScoped.class);
+				Context context = contextconfig.getContext();
+				assertSame(context.get(Component.class).get(), context.get(Component.class).get());
+				CacheMetrics metrics = contextconfig.cacheMetrics(Component.class).get();
+				assertEquals(1, metrics.misses());
+				assertEquals(1, metrics.hits());
+			}
+
+			@Test
+			public void should_rebuild_instance_after_time_to_live() {
+				contextconfig.bind(Component.class, ComponentWithDefaultConstructor.class, Cached.class);
+				Context context = contextconfig.getContext();
+				Component cached = context.get(Component.class).get();
+				ticker.addAndGet(Duration.ofMillis(999).toNanos());
+				assertSame(cached, context.get(Component.class).get());
+				ticker.addAndGet(Duration.ofMillis(1).toNanos());
+				assertNotSame(cached, context.get(Component.class).get());
+				assertEquals(1, contextconfig.cacheMetrics(Component.class).get().expirations());
+			}
+
+			@Test
+			public void should_evict_oldest_instance_if_scope_is_full() {
+				contextconfig.bind(Component.class, ComponentWithDefaultConstructor.class, Cached.class);
+				contextconfig.bind(Dependency.class, DependencyWithDefaultConstructor.class, Cached.class);
+				contextconfig.bind(AnotherDependency.class, SingletonAnotherDependency.class, Cached.class);
+				Context context = contextconfig.getContext();
+				Component component = context.get(Component.class).get();
+				context.get(Dependency.class).get();
+				assertEquals(0, contextconfig.cacheMetrics(Component.class).get().evictions());
+				context.get(AnotherDependency.class).get();
+				assertEquals(1, contextconfig.cacheMetrics(Component.class).get().evictions());
+				assertNotSame(component, context.get(Component.class).get());
+			}
+
+			@Test
+			public void should_not_count_expired_instance_against_capacity() {
+				contextconfig.bind(Component.class, ComponentWithDefaultConstructor.class, Cached.class);
+				contextconfig.bind(Dependency.class, DependencyWithDefaultConstructor.class, Cached.class);
+				contextconfig.bind(AnotherDependency.class, SingletonAnotherDependency.class, Cached.class);
+				Context context = contextconfig.getContext();
+				context.get(Component.class).get();
+				ticker.addAndGet(Duration.ofSeconds(1).toNanos());
+				Component rebuilt = context.get(Component.class).get();
+				context.get(Dependency.class).get();
+				assertSame(rebuilt, context.get(Component.class).get());
+				context.get(AnotherDependency.class).get();
+				assertEquals(1, contextconfig.cacheMetrics(Component.class).get().evictions());
+				assertEquals(0, contextconfig.cacheMetrics(Dependency.class).get().evictions());
+			}
+
+			@Test
+			public void should_rebuild_instance_collected_under_memory_pressure() {
+				contextconfig.bind(Component.class, ComponentWithDefaultConstructor.class, Cached.class);
+				Context context = contextconfig.getContext();
+				Component cached = context.get(Component.class).get();
+				references.forEach(Reference::clear);
+				assertNotSame(cached, context.get(Component.class).get());
+				assertEquals(1, contextconfig.cacheMetrics(Component.class).get().collections());
+			}
+
+			@Test
+			public void should_not_cache_failed_construction() {
+				FailingOnceComponent.attempts.set(0);
+				contextconfig.bind(Component.class, FailingOnceComponent.class, CacheScoped.class);
+				Context context = contextconfig.getContext();
+				assertThrows(IllegalStateException.class, () -> context.get(Component.class));
+				assertSame(context.get(Component.class).get(), context.get(Component.class).get());
+				assertEquals(2, FailingOnceComponent.attempts.get());
+			}
+
+			@Test
+			public void should_throw_exception_if_cache_limits_are_invalid() {
+				assertThrows(IllegalArgumentException.class, () -> contextconfig.cache(Cached.class, 0, null));
+				assertThrows(IllegalArgumentException.class, () -> contextconfig.cache(Cached.class, 1, Duration.ZERO));
+			}
 		}
 
-	}
+		@Nested
+		class EagerStartup {
+			@Test
+			public void should_instantiate_singletons_before_first_get() {
+				SlowSingletonComponent.instances.set(0);
+				contextconfig.bind(Component.class, SlowSingletonComponent.class);
+				Startup startup = contextconfig.getContext(Executors.newCachedThreadPool());
+				assertEquals(1, SlowSingletonComponent.instances.get());
+				startup.context().get(Component.class).get();
+				assertEquals(1, SlowSingletonComponent.instances.get());
+			}
 
-	@Nested
-	class DependencySelection {
+			@Test
+			public void should_instantiate_independent_singletons_concurrently() {
+				BarrierSingletonComponent.barrier = new CyclicBarrier(2);
+				contextconfig.bind(Component.class, BarrierSingletonComponent.class);
+				contextconfig.bind(Dependency.class, BarrierSingletonDependency.class);
+				ExecutorService executor = Executors.newFixedThreadPool(2);
+				try {
+					Startup startup = contextconfig.getContext(executor);
+					assertNotNull(startup.context().get(Component.class).get());
+					assertNotNull(startup.context().get(Dependency.class).get());
+				} finally {
+					executor.shutdownNow();
+				}
+			}
 
-	}
+			@Test
+			public void should_instantiate_singleton_after_its_dependencies() {
+				contextconfig.bind(Component.class, SingletonComponentWithDependency.class);
+				contextconfig.bind(Dependency.class, BarrierSingletonDependency.class);
+				BarrierSingletonComponent.barrier = new CyclicBarrier(1);
+				Component component = contextconfig.getContext(Executors.newCachedThreadPool()).context().get(Component.class).get();
+				assertNotNull(((SingletonComponentWithDependency) component).dependency);
+			}
 
-	@Nested
-	class LifeCycleManagement {
+			@Test
+			public void should_report_failure_of_dependency_first() {
+				contextconfig.bind(Component.class, SingletonComponentWithDependency.class);
+				contextconfig.bind(Dependency.class, FailingSingletonDependency.class);
+				assertThrows(IllegalStateException.class, () -> contextconfig.getContext(Executors.newCachedThreadPool()));
+			}
+		}
+
+		@Nested
+		class Shutdown {
+			@BeforeEach
+			public void reset() {
+				Closings.reset();
+			}
+
+			@Test
+			public void should_close_singletons_in_reverse_dependency_order() {
+				contextconfig.bind(Component.class, ClosingComponent.class);
+				contextconfig.bind(Dependency.class, ClosingDependency.class);
+				Context context = contextconfig.getContext();
+				context.get(Component.class).get();
+				context.close();
+				assertEquals(List.of("ClosingComponent", "ClosingDependency"), List.copyOf(Closings.order));
+			}
+
+			@Test
+			public void should_close_independent_dependents_in_parallel() {
+				Closings.barrier = new CyclicBarrier(2);
+				contextconfig.bind(Component.class, ClosingComponent.class);
+				contextconfig.bind(AnotherDependency.class, ClosingAnotherDependency.class);
+				contextconfig.bind(Dependency.class, ClosingDependency.class);
+				Context context = contextconfig.getContext();
+				context.get(Component.class).get();
+				context.get(AnotherDependency.class).get();
+				ExecutorService executor = Executors.newCachedThreadPool();
+				try {
+					context.close(executor, Duration.ofSeconds(5));
+				} finally {
+					executor.shutdownNow();
+				}
+				assertEquals(3, Closings.order.size());
+				assertEquals("ClosingDependency", List.copyOf(Closings.order).get(2));
+			}
+
+			@Test
+			public void should_report_timeout_and_still_close_dependencies() {
+				Closings.hanging.add("ClosingComponent");
+				contextconfig.bind(Component.class, ClosingComponent.class);
+				contextconfig.bind(Dependency.class, ClosingDependency.class);
+				Context context = contextconfig.getContext();
+				context.get(Component.class).get();
+				ShutdownException exception = assertThrows(ShutdownException.class, () -> context.close(Executors.newCachedThreadPool(), Duration.ofMillis(50)));
+				assertEquals("timed out closing Component", exception.getMessage());
+				assertInstanceOf(TimeoutException.class, exception.getFailures().get(Key.of(Component.class)));
+				assertEquals(List.of("ClosingDependency"), List.copyOf(Closings.order));
+			}
+
+			@Test
+			public void should_report_every_failed_component() {
+				Closings.failing.add("ClosingComponent");
+				Closings.failing.add("ClosingDependency");
+				contextconfig.bind(Component.class, ClosingComponent.class);
+				contextconfig.bind(Dependency.class, ClosingDependency.class);
+				Context context = contextconfig.getContext();
+				context.get(Component.class).get();
+				ShutdownException exception = assertThrows(ShutdownException.class, context::close);
+				assertEquals("failed to close Component\nfailed to close Dependency", exception.getMessage());
+				assertInstanceOf(IOException.class, exception.getFailures().get(Key.of(Dependency.class)));
+				assertEquals(2, exception.getSuppressed().length);
+			}
+
+			@Test
+			public void should_not_close_unresolved_or_instance_bound_components() {
+				ClosingDependency instance = new ClosingDependency();
+				contextconfig.bind(Dependency.class, instance);
+				contextconfig.bind(Component.class, ClosingComponent.class);
+				contextconfig.getContext().close();
+				assertTrue(Closings.order.isEmpty());
+			}
+
+			@Test
+			public void should_close_request_scoped_components_with_child_context() {
+				contextconfig.bind(Dependency.class, ClosingDependency.class);
+				Context parent = contextconfig.getContext();
+				Contextconfig request = new Contextconfig();
+				request.bind(Component.class, ClosingRequestComponent.class);
+				Context child = request.getContext(parent);
+				child.get(Component.class).get();
+				child.close();
+				assertEquals(List.of("ClosingRequestComponent"), List.copyOf(Closings.order));
+				parent.close();
+				assertEquals(List.of("ClosingRequestComponent", "ClosingDependency"), List.copyOf(Closings.order));
+			}
+
+			@Test
+			public void should_close_singleton_shared_by_contexts_from_one_config() {
+				contextconfig.bind(Dependency.class, ClosingDependency.class);
+				Context first = contextconfig.getContext();
+				Context second = contextconfig.getContext();
+				Dependency created = first.get(Dependency.class).get();
+				assertSame(created, second.get(Dependency.class).get());
+				second.close();
+				assertEquals(List.of("ClosingDependency"), List.copyOf(Closings.order));
+				assertNotSame(created, first.get(Dependency.class).get());
+				first.close();
+				assertEquals(2, Closings.order.size());
+			}
+
+			@Test
+			public void should_close_child_singleton_created_by_sibling_child() {
+				Context parent = contextconfig.getContext();
+				Contextconfig request = new Contextconfig();
+				request.bind(Dependency.class, ClosingDependency.class);
+				Context first = request.getContext(parent);
+				Context second = request.getContext(parent);
+				Dependency created = first.get(Dependency.class).get();
+				second.close();
+				assertEquals(List.of("ClosingDependency"), List.copyOf(Closings.order));
+				assertNotSame(created, first.get(Dependency.class).get());
+			}
+
+			@Test
+			public void should_reject_resolution_after_close() {
+				contextconfig.bind(Dependency.class, ClosingDependency.class);
+				Context context = contextconfig.getContext();
+				context.close();
+				assertThrows(IllegalStateException.class, () -> context.get(Dependency.class));
+				assertThrows(IllegalStateException.class, () -> context.getAll(Dependency.class));
+				ExecutionException exception = assertThrows(ExecutionException.class, () -> context.getAsync(Dependency.class).get(5, TimeUnit.SECONDS));
+				assertInstanceOf(IllegalStateException.class, exception.getCause());
+				assertTrue(Closings.order.isEmpty());
+			}
+
+			@Test
+			public void should_close_components_only_once() {
+				contextconfig.bind(Dependency.class, ClosingDependency.class);
+				Context context = contextconfig.getContext();
+				context.get(Dependency.class).get();
+				context.close();
+				context.close();
+				assertEquals(1, Closings.order.size());
+			}
+		}
 
+		@Test
+		public void should_create_singleton_only_once_under_concurrent_first_access() throws Exception {
+			int threads = 64;
+			for (int round = 0; round < 20; round++) {
+				SlowSingletonComponent.instances.set(0);
+				Contextconfig config = new Contextconfig();
+				config.bind(Component.class, SlowSingletonComponent.class);
+				Context context = config.getContext();
+				ExecutorService executor = Executors.newFixedThreadPool(threads);
+				try {
+					CountDownLatch start = new CountDownLatch(1);
+					List<Future<Component>> results = new ArrayList<>();
+					for (int i = 0; i < threads; i++)
+						results.add(executor.submit(() -> {
+							start.await();
+							return context.get(Component.class).get();
+						}));
+					start.countDown();
+					Component first = results.get(0).get();
+					for (Future<Component> result : results) assertSame(first, result.get());
+					assertEquals(1, SlowSingletonComponent.instances.get());
+				} finally {
+					executor.shutdownNow();
+				}
+			}
+		}
 	}
 }
 
@@ -79,6 +1491,10 @@ interface Dependency {
 
 }
 
+interface AnotherDependency {
+
+}
+
 
 class ComponentWithDefaultConstructor implements Component {
 	public ComponentWithDefaultConstructor() {
@@ -128,6 +1544,12 @@ class ComponentWithNoDefaultNorInjectConstructor implements Component {
 	}
 }
 
+class ComponentWithDiamondDependencies implements Component {
+	@Inject
+	public ComponentWithDiamondDependencies(Dependency dependency, AnotherDependency anotherDependency) {
+	}
+}
+
 class DependencyDependentOnComponent implements Dependency {
 	private final Component component;
 
@@ -140,3 +1562,272 @@ class DependencyDependentOnComponent implements Dependency {
 		return component;
 	}
 }
+
+class DependencyDependentOnAnotherDependency implements Dependency {
+	private final AnotherDependency anotherDependency;
+
+	@Inject
+	public DependencyDependentOnAnotherDependency(AnotherDependency anotherDependency) {
+		this.anotherDependency = anotherDependency;
+	}
+}
+
+class AnotherDependencyDependentOnComponent implements AnotherDependency {
+	private final Component component;
+
+	@Inject
+	public AnotherDependencyDependentOnComponent(Component component) {
+		this.component = component;
+	}
+}
+
+@Singleton
+class SingletonComponent implements Component {
+}
+
+@Scope
+@Retention(RUNTIME)
+@interface Pooled {
+}
+
+@Pooled
+class PooledComponent implements Component {
+}
+
+@PoolScoped
+class PoolScopedComponent implements Component {
+}
+
+@Scope
+@Retention(RUNTIME)
+@interface Cached {
+}
+
+class DependencyWithDefaultConstructor implements Dependency {
+}
+
+class BufferComponent implements Component {
+	final StringBuilder buffer = new StringBuilder();
+}
+
+class FailingOnceComponent implements Component {
+	static final AtomicInteger attempts = new AtomicInteger();
+
+	public FailingOnceComponent() {
+		if (attempts.incrementAndGet() == 1) throw new IllegalStateException();
+	}
+}
+
+@Singleton
+class SlowSingletonComponent implements Component {
+	static final AtomicInteger instances = new AtomicInteger();
+
+	public SlowSingletonComponent() throws InterruptedException {
+		instances.incrementAndGet();
+		Thread.sleep(5);
+	}
+}
+
+@Singleton
+class BarrierSingletonComponent implements Component {
+	static CyclicBarrier barrier;
+
+	public BarrierSingletonComponent() throws Exception {
+		barrier.await(5, TimeUnit.SECONDS);
+	}
+}
+
+@Singleton
+class BarrierSingletonDependency implements Dependency {
+	public BarrierSingletonDependency() throws Exception {
+		BarrierSingletonComponent.barrier.await(5, TimeUnit.SECONDS);
+	}
+}
+
+@Singleton
+class SingletonComponentWithDependency implements Component {
+	final Dependency dependency;
+
+	@Inject
+	public SingletonComponentWithDependency(Dependency dependency) {
+		if (dependency == null) throw new IllegalArgumentException();
+		this.dependency = dependency;
+	}
+}
+
+@Singleton
+class FailingSingletonDependency implements Dependency {
+	public FailingSingletonDependency() {
+		throw new IllegalStateException();
+	}
+}
+
+class SharingRoot {
+	final SharedSingleton singleton;
+	final SharingBranch branch;
+
+	@Inject
+	public SharingRoot(SharedSingleton singleton, SharingBranch branch) {
+		this.singleton = singleton;
+		this.branch = branch;
+	}
+}
+
+class SharingBranch {
+	final SharedSingleton singleton;
+
+	@Inject
+	public SharingBranch(SharedSingleton singleton) {
+		this.singleton = singleton;
+	}
+}
+
+@Singleton
+class SharedSingleton {
+	@Inject
+	public SharedSingleton(SharedLeaf leaf) {
+	}
+}
+
+class SharedLeaf {
+}
+
+@RequestScoped
+class RequestScopedComponent implements Component {
+}
+
+@Singleton
+class SingletonAnotherDependency implements AnotherDependency {
+}
+
+class AnotherDependencyWithDefaultConstructor implements AnotherDependency {
+}
+
+class AnotherDependencyDependentOnBoth implements AnotherDependency {
+	final Component component;
+	final Dependency dependency;
+
+	@Inject
+	public AnotherDependencyDependentOnBoth(Component component, Dependency dependency) {
+		this.component = component;
+		this.dependency = dependency;
+	}
+}
+
+interface IndexedService {
+}
+
+class SelfDependentService {
+	@Inject
+	public SelfDependentService(SelfDependentService service, String name) {
+	}
+}
+
+class IndexedServiceWithInjectField implements IndexedService {
+	@Inject
+	AnotherDependency dependency;
+}
+
+interface Repository<T> {
+}
+
+class StringRepository implements Repository<String> {
+}
+
+class IntegerRepository implements Repository<Integer> {
+}
+
+class ComponentWithQualifiedDependencies implements Component {
+	final Repository<String> repository;
+	final Dependency primary;
+	final Dependency secondary;
+
+	@Inject
+	public ComponentWithQualifiedDependencies(Repository<String> repository, @Named("primary") Dependency primary, @Named("secondary") Dependency secondary) {
+		this.repository = repository;
+		this.primary = primary;
+		this.secondary = secondary;
+	}
+}
+
+@ThreadScoped
+class ThreadScopedComponent implements Component {
+}
+
+class Closings {
+	static final Queue<String> order = new ConcurrentLinkedQueue<>();
+	static final Set<String> failing = ConcurrentHashMap.newKeySet();
+	static final Set<String> hanging = ConcurrentHashMap.newKeySet();
+	static volatile CyclicBarrier barrier;
+
+	static void reset() {
+		order.clear();
+		failing.clear();
+		hanging.clear();
+		barrier = null;
+	}
+
+	static void close(Object component, boolean branch) throws Exception {
+		String name = component.getClass().getSimpleName();
+		if (hanging.contains(name)) Thread.sleep(2000);
+		if (failing.contains(name)) throw new IOException(name);
+		if (branch && barrier != null) barrier.await(5, TimeUnit.SECONDS);
+		order.add(name);
+	}
+}
+
+@Singleton
+class ClosingDependency implements Dependency, AutoCloseable {
+	@Override
+	public void close() throws Exception {
+		Closings.close(this, false);
+	}
+}
+
+@Singleton
+class ClosingComponent implements Component, AutoCloseable {
+	@Inject
+	public ClosingComponent(Dependency dependency) {
+	}
+
+	@Override
+	public void close() throws Exception {
+		Closings.close(this, true);
+	}
+}
+
+@Singleton
+class ClosingAnotherDependency implements AnotherDependency, AutoCloseable {
+	@Inject
+	public ClosingAnotherDependency(Dependency dependency) {
+	}
+
+	@Override
+	public void close() throws Exception {
+		Closings.close(this, true);
+	}
+}
+
+@RequestScoped
+class ClosingRequestComponent implements Component, AutoCloseable {
+	@Inject
+	public ClosingRequestComponent(Dependency dependency) {
+	}
+
+	@Override
+	public void close() throws Exception {
+		Closings.close(this, false);
+	}
+}
+
+class DependencyOnPrimary implements Dependency {
+	@Inject
+	public DependencyOnPrimary(@Named("primary") Dependency primary) {
+	}
+}
+
+class DependencyOnSecondary implements Dependency {
+	@Inject
+	public DependencyOnSecondary(@Named("secondary") Dependency secondary) {
+	}
+}
@@ -1,10 +1,12 @@
 import jakarta.inject.Inject;
+import jakarta.inject.Provider;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.eq;
@@ -63,6 +65,18 @@ public class InjectionTest {
 			assertThrows(IllegalComponentException.class, () -> new ConstructorInjectionProvider<>(ComponentWithNoDefaultNorInjectConstructor.class));
 		}
 
+		@Test
+		public void should_cache_injection_points_of_same_implementation() {
+			assertSame(InjectionPoints.of(ComponentWithInjectConstructor.class), InjectionPoints.of(ComponentWithInjectConstructor.class));
+		}
+
+		@Test
+		public void should_share_provider_of_same_implementation() {
+			ConstructorInjectionProvider<ComponentWithInjectConstructor> provider = ConstructorInjectionProvider.of(ComponentWithInjectConstructor.class);
+			assertSame(provider, ConstructorInjectionProvider.of(ComponentWithInjectConstructor.class));
+			assertSame(provider.getDependencyKeys(), provider.getDependencyKeys());
+		}
+
 		@Test
 		public void should_include_dependency_from_inject_constructor() {
 			ConstructorInjectionProvider<ComponentWithInjectConstructor> provider = new ConstructorInjectionProvider<>(ComponentWithInjectConstructor.class);
@@ -157,6 +171,22 @@ public class InjectionTest {
 
 		}
 
+		static class SubClassShadowingInjectField extends FieldInjection.ComponentWithFieldInjection {
+			@Inject
+			Dependency dependency;
+		}
+
+		@Test
+		public void should_inject_both_fields_if_sub_class_shadows_super_class_inject_field() {
+			Dependency dependency = new Dependency() {};
+			contextconfig.bind(FieldInjection.SubClassShadowingInjectField.class, FieldInjection.SubClassShadowingInjectField.class);
+			contextconfig.bind(Dependency.class, dependency);
+
+			FieldInjection.SubClassShadowingInjectField fieldInjection = contextconfig.getContext().get(FieldInjection.SubClassShadowingInjectField.class).get();
+			assertSame(dependency, fieldInjection.dependency);
+			assertSame(dependency, ((FieldInjection.ComponentWithFieldInjection) fieldInjection).dependency);
+		}
+
 		static class FinalInjectField {
 			@Inject final Dependency dependency = null;
 		}
@@ -272,6 +302,16 @@ public class InjectionTest {
 			assertEquals(0, superclassWithNoInject.superCalled);
 		}
 
+		static class SubclassOfOverrideWithNoInject extends MethodInjection.SubclassOverrideSuperclassWithNoInject {
+		}
+
+		@Test
+		public void should_not_call_inject_method_if_intermediate_class_override_with_no_inject() {
+			contextconfig.bind(MethodInjection.SubclassOfOverrideWithNoInject.class, MethodInjection.SubclassOfOverrideWithNoInject.class);
+			MethodInjection.SubclassOfOverrideWithNoInject component = contextconfig.getContext().get(MethodInjection.SubclassOfOverrideWithNoInject.class).get();
+			assertEquals(0, component.superCalled);
+		}
+
 		static class InjectMethodWithTypeParameter {
 			@Inject
 			<T> void install() {
@@ -285,4 +325,120 @@ public class InjectionTest {
 		}
 	}
 
+	@Nested
+	class ProviderInjection {
+		static class ProviderInjectConstructor {
+			Provider<Dependency> dependency;
+
+			@Inject
+			public ProviderInjectConstructor(Provider<Dependency> dependency) {
+				this.dependency = dependency;
+			}
+		}
+
+		static class ProviderInjectField {
+			@Inject
+			Provider<Dependency> dependency;
+		}
+
+		static class ProviderInjectMethod {
+			Provider<Dependency> dependency;
+
+			@Inject
+			void install(Provider<Dependency> dependency) {
+				this.dependency = dependency;
+			}
+		}
+
+		static class LazyDependency implements Dependency {
+			static final AtomicInteger instances = new AtomicInteger();
+
+			public LazyDependency() {
+				instances.incrementAndGet();
+			}
+		}
+
+		@Test
+		public void should_inject_provider_of_dependency() {
+			Dependency dependency = new Dependency() {};
+			contextconfig.bind(Dependency.class, dependency);
+			for (Class<?> component : List.of(ProviderInjectConstructor.class, ProviderInjectField.class, ProviderInjectMethod.class))
+				bind(component);
+			Context context = contextconfig.getContext();
+			assertSame(dependency, context.get(ProviderInjectConstructor.class).get().dependency.get());
+			assertSame(dependency, context.get(ProviderInjectField.class).get().dependency.get());
+			assertSame(dependency, context.get(ProviderInjectMethod.class).get().dependency.get());
+		}
+
+		@Test
+		public void should_include_provided_type_as_dependency() {
+			assertEquals(List.of(Dependency.class), new ConstructorInjectionProvider<>(ProviderInjectConstructor.class).getDependency());
+			assertEquals(List.of(Dependency.class), new ConstructorInjectionProvider<>(ProviderInjectField.class).getDependency());
+			assertEquals(List.of(Dependency.class), new ConstructorInjectionProvider<>(ProviderInjectMethod.class).getDependency());
+		}
+
+		@Test
+		public void should_not_resolve_dependency_until_provider_is_called() {
+			contextconfig.bind(Dependency.class, LazyDependency.class);
+			contextconfig.bind(ProviderInjectField.class, ProviderInjectField.class);
+			int instances = LazyDependency.instances.get();
+			ProviderInjectField component = contextconfig.getContext().get(ProviderInjectField.class).get();
+			assertEquals(instances, LazyDependency.instances.get());
+			assertTrue(component.dependency.get() instanceof LazyDependency);
+			assertEquals(instances + 1, LazyDependency.instances.get());
+		}
+
+		@Test
+		public void should_check_provided_dependency() {
+			contextconfig.bind(ProviderInjectConstructor.class, ProviderInjectConstructor.class);
+			assertThrows(DependencyNotFoundException.class, () -> contextconfig.getContext());
+		}
+
+		@Test
+		public void should_throw_exception_if_provided_type_is_not_declared() {
+			assertThrows(IllegalComponentException.class, () -> new ConstructorInjectionProvider<>(WildcardProvider.class));
+		}
+
+		static class WildcardProvider {
+			@Inject
+			Provider<?> dependency;
+		}
+
+		private <T> void bind(Class<T> component) {
+			contextconfig.bind(component, component);
+		}
+	}
+
+	@Nested
+	class GeneratedFactory {
+		@Test
+		public void should_generate_factory_for_component_with_inject_members() {
+			assertTrue(ComponentFactories.of(ComponentWithInjectConstructor.class).isPresent());
+			assertTrue(ComponentFactories.of(FieldInjection.ComponentWithFieldInjection.class).isPresent());
+			assertTrue(ComponentFactories.of(MethodInjection.InjectMethodWithDependency.class).isPresent());
+			assertTrue(ComponentFactories.of(ProviderInjection.ProviderInjectField.class).isPresent());
+		}
+
+		@Test
+		public void should_not_generate_factory_for_component_without_inject_members() {
+			assertTrue(ComponentFactories.of(ComponentWithDefaultConstructor.class).isEmpty());
+		}
+
+		@Test
+		public void should_not_generate_factory_for_illegal_component() {
+			assertTrue(ComponentFactories.of(ComponentWithMultiInjectConstructors.class).isEmpty());
+			assertTrue(ComponentFactories.of(FieldInjection.FinalInjectField.class).isEmpty());
+			assertTrue(ComponentFactories.of(MethodInjection.InjectMethodWithTypeParameter.class).isEmpty());
+			assertTrue(ComponentFactories.of(ProviderInjection.WildcardProvider.class).isEmpty());
+		}
+
+		@Test
+		public void should_include_same_dependencies_as_reflection() {
+			for (Class<?> component : List.of(ComponentWithInjectConstructor.class, FieldInjection.ComponentWithFieldInjection.class,
+				MethodInjection.InjectMethodWithDependency.class, MethodInjection.SubClassOverrideSuperClass.class,
+				ProviderInjection.ProviderInjectConstructor.class, ProviderInjection.ProviderInjectField.class, ProviderInjection.ProviderInjectMethod.class))
+				assertEquals(new ConstructorInjectionProvider<>(component).getDependency(), ComponentFactories.of(component).get().getDependency());
+		}
+	}
+
 }